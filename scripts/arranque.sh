@@ -0,0 +1,50 @@
+#!/usr/bin/env bash
+# Mide el arranque de cada cliente (web, escritorio, consola) sin optimizaciones y con AOT + CDS
+# Uso: scripts/arranque.sh [clientes...]   (por defecto: web escritorio consola)
+# Requiere la base de datos de application.properties y GNU time (/usr/bin/time)
+# El contexto se cierra al terminar el refresh (spring.context.exit=onRefresh): se mide hasta que
+# la aplicacion esta lista, sin abrir la ventana ni el menu
+# Resultados acumulados en target/arranque/resultados.csv para seguir su evolucion
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+CLIENTES=("$@")
+if [ ${#CLIENTES[@]} -eq 0 ]; then
+    CLIENTES=(web escritorio consola)
+fi
+SALIDA=target/arranque
+RESULTADOS=$SALIDA/resultados.csv
+mkdir -p "$SALIDA"
+[ -f "$RESULTADOS" ] || echo "fecha,cliente,modo,segundos,rss_kb" > "$RESULTADOS"
+
+# Ejecuta java hasta el refresh y registra tiempo total y RSS maximo
+medir() {
+    local cliente=$1 modo=$2
+    shift 2
+    /usr/bin/time -o "$SALIDA/tiempo.txt" -f "%e,%M" \
+        java -Dspring.context.exit=onRefresh "$@" > "$SALIDA/$cliente-$modo.log" 2>&1
+    echo "$(date +%F),$cliente,$modo,$(tail -n 1 "$SALIDA/tiempo.txt")" >> "$RESULTADOS"
+}
+
+for cliente in "${CLIENTES[@]}"; do
+    perfiles=arranque
+    [ "$cliente" = web ] || perfiles="arranque,$cliente"
+    ./mvnw -q -B -P"$perfiles" -DskipTests package
+    jar=$(ls target/zona_fit-*.jar | head -n 1)
+
+    # Jar extraido (lib/ separado), necesario para que el archivo CDS sea reutilizable
+    directorio=$SALIDA/$cliente
+    rm -rf "$directorio"
+    java -Djarmode=tools -jar "$jar" extract --destination "$directorio"
+    aplicacion=$directorio/$(basename "$jar")
+
+    medir "$cliente" jvm -jar "$aplicacion"
+
+    # Ejecucion de entrenamiento: guarda las clases cargadas hasta el refresh
+    java -XX:ArchiveClassesAtExit="$directorio/aplicacion.jsa" -Dspring.aot.enabled=true \
+        -Dspring.context.exit=onRefresh -jar "$aplicacion" > "$SALIDA/$cliente-entrenamiento.log" 2>&1
+    medir "$cliente" aot-cds -XX:SharedArchiveFile="$directorio/aplicacion.jsa" \
+        -Dspring.aot.enabled=true -jar "$aplicacion"
+done
+
+column -t -s, "$RESULTADOS"
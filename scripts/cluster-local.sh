@@ -0,0 +1,29 @@
+#!/usr/bin/env bash
+# Levanta varios nodos de ZonaFitWeb en esta maquina con el perfil cluster,
+# todos contra la base de datos local de application.properties
+# Uso: scripts/cluster-local.sh [nodos] [puerto-inicial]   (por defecto 3 nodos desde el 8081)
+# Requiere haber ejecutado src/main/resources/db/04_cluster.sql y ./mvnw package
+# Delante puede ponerse cualquier balanceador sin afinidad de sesion (nginx, haproxy)
+set -euo pipefail
+
+NODOS=${1:-3}
+PUERTO=${2:-8081}
+JAR=$(ls target/zona_fit-*.jar | head -n 1)
+LOGS=target/cluster
+mkdir -p "$LOGS"
+
+PIDS=()
+detener() {
+    kill "${PIDS[@]}" 2>/dev/null || true
+}
+trap detener EXIT INT TERM
+
+for ((i = 0; i < NODOS; i++)); do
+    puerto=$((PUERTO + i))
+    java -jar "$JAR" --spring.profiles.active=cluster --server.port="$puerto" \
+        > "$LOGS/nodo-$puerto.log" 2>&1 &
+    PIDS+=($!)
+    echo "Nodo $((i + 1)): http://localhost:$puerto/index.xhtml (log: $LOGS/nodo-$puerto.log)"
+done
+
+wait
@@ -0,0 +1,126 @@
+package com.zona_fit.benchmark;
+
+import com.zona_fit.modelo.Cliente;
+import com.zona_fit.modelo.ClienteResumen;
+import com.zona_fit.servicio.IClienteServicio;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de las operaciones de ClienteServicio contra H2 en modo MySQL
+ * Publica rendimiento (Throughput), latencia por percentiles (SampleTime)
+ * y tasa de asignacion de memoria con el perfilador gc (-prof gc)
+ * Entidades frente a resumenes (ClienteResumen): comparar listarClientes/listarResumenClientes
+ * y paginaClientes/paginaResumenClientes con -p filas=100000 (gc.alloc.rate.norm y score)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ClienteServicioBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int filas;
+
+    private ConfigurableApplicationContext contexto;
+    private IClienteServicio clienteServicio;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar(filas);
+        clienteServicio = contexto.getBean(IClienteServicio.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void terminar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<Cliente> listarClientes() {
+        return clienteServicio.listarClientes();
+    }
+
+    @Benchmark
+    public List<ClienteResumen> listarResumenClientes() {
+        return clienteServicio.listarResumenClientes(Map.of(), Pageable.unpaged());
+    }
+
+    // Incluye el conteo de Page, como la carga anterior de la tabla web
+    @Benchmark
+    public List<Cliente> paginaClientes() {
+        return clienteServicio.listarClientes(Map.of(), paginaAleatoria()).getContent();
+    }
+
+    @Benchmark
+    public List<ClienteResumen> paginaResumenClientes() {
+        return clienteServicio.listarResumenClientes(Map.of(), paginaAleatoria());
+    }
+
+    @Benchmark
+    public Cliente buscarClientePorId() {
+        return clienteServicio.buscarClientePorId(idAleatorio());
+    }
+
+    @Benchmark
+    public List<Cliente> buscarClientes() {
+        return clienteServicio.buscarClientes("Nombre" + idAleatorio(), 10);
+    }
+
+    @Benchmark
+    public boolean guardarCliente() {
+        return clienteServicio.guardarCliente(new Cliente(idAleatorio(), "Nombre", "Apellido", 1));
+    }
+
+    @Benchmark
+    public boolean eliminarClientePorId(ClienteAEliminar porEliminar) {
+        return clienteServicio.eliminarClientePorId(porEliminar.cliente);
+    }
+
+    // Pagina de la tabla web (50 filas) en una posicion aleatoria
+    private Pageable paginaAleatoria() {
+        return PageRequest.of(ThreadLocalRandom.current().nextInt(Math.max(filas / 50, 1)), 50,
+                Sort.by("id"));
+    }
+
+    private int idAleatorio() {
+        return ThreadLocalRandom.current().nextInt(1, filas + 1);
+    }
+
+    /**
+     * Cliente insertado (fuera de la medicion) antes de cada invocacion de eliminarClientePorId
+     */
+    @State(Scope.Thread)
+    public static class ClienteAEliminar {
+
+        private Cliente cliente;
+
+        @Setup(Level.Invocation)
+        public void preparar(ClienteServicioBenchmark benchmark) {
+            cliente = new Cliente("Eliminar", "Benchmark", 0);
+            benchmark.clienteServicio.guardarCliente(cliente);
+        }
+    }
+}
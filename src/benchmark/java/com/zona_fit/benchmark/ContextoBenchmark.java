@@ -0,0 +1,63 @@
+package com.zona_fit.benchmark;
+
+import com.zona_fit.ZonaFitWeb;
+import com.zona_fit.modelo.Cliente;
+import com.zona_fit.servicio.IClienteServicio;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Contexto de Spring para los benchmarks
+ * Usa una base H2 en memoria en modo MySQL, sin servidor web ni cache,
+ * para que las mediciones reflejen el mapeo JPA y la forma de las consultas
+ */
+final class ContextoBenchmark {
+
+    // Clientes insertados por llamada a guardarClientes al sembrar datos
+    private static final int LOTE_SEMILLA = 10_000;
+
+    private ContextoBenchmark() {
+    }
+
+    /**
+     * Levanta el contexto con una base nueva y la siembra con el numero de clientes indicado
+     * @param filas Numero de clientes iniciales
+     * @param propiedades Propiedades adicionales que reemplazan a las de los benchmarks
+     * @return Contexto listo para medir
+     */
+    static ConfigurableApplicationContext iniciar(int filas, String... propiedades) {
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(ZonaFitWeb.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark" + filas
+                                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.cache.type=none",
+                        // H2 no tiene indices FULLTEXT, solo se mide la busqueda por prefijo
+                        "zonafit.busqueda.texto-completo=false")
+                .properties(propiedades)
+                .run();
+        sembrar(contexto.getBean(IClienteServicio.class), filas);
+        return contexto;
+    }
+
+    private static void sembrar(IClienteServicio clienteServicio, int filas) {
+        List<Cliente> lote = new ArrayList<>(LOTE_SEMILLA);
+        for (int i = 1; i <= filas; i++) {
+            lote.add(new Cliente("Nombre" + i, "Apellido" + i, i));
+            if (lote.size() == LOTE_SEMILLA || i == filas) {
+                clienteServicio.guardarClientes(lote);
+                lote.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.zona_fit.benchmark;
+
+import com.zona_fit.repositorio.AsistenciaRepositorio;
+import com.zona_fit.servicio.IAsistenciaServicio;
+import com.zona_fit.servicio.ResultadoEntrada;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Generador de carga de entradas al gimnasio (hora pico)
+ * Simula torniquetes concurrentes que registran entradas durante un tiempo fijo
+ * y espera a que todas las entradas aceptadas queden escritas en la base
+ *   mvn -Pbenchmark test-compile exec:java -Dexec.mainClass=com.zona_fit.benchmark.GeneradorAsistencias
+ *       -Dexec.args="torniquetes segundos socios"
+ * Por defecto: 200 torniquetes, 30 segundos, 100000 socios (H2 en modo MySQL)
+ */
+public final class GeneradorAsistencias {
+
+    // Una de cada cien entradas usa una membresia inexistente
+    private static final int PORCENTAJE_INVALIDAS = 1;
+
+    private GeneradorAsistencias() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int torniquetes = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int segundos = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        int socios = args.length > 2 ? Integer.parseInt(args[2]) : 100_000;
+
+        // Con la cache de membresias, como en produccion
+        try (ConfigurableApplicationContext contexto = ContextoBenchmark.iniciar(socios,
+                "spring.cache.type=caffeine",
+                "spring.cache.cache-names=clientes,membresias",
+                "spring.cache.caffeine.spec=maximumSize=" + socios)) {
+            IAsistenciaServicio asistenciaServicio = contexto.getBean(IAsistenciaServicio.class);
+            AsistenciaRepositorio asistenciaRepositorio = contexto.getBean(AsistenciaRepositorio.class);
+
+            Map<ResultadoEntrada, LongAdder> resultados = new EnumMap<>(ResultadoEntrada.class);
+            for (ResultadoEntrada resultado : ResultadoEntrada.values()) {
+                resultados.put(resultado, new LongAdder());
+            }
+            long fin = System.nanoTime() + TimeUnit.SECONDS.toNanos(segundos);
+            long inicio = System.nanoTime();
+            try (ExecutorService ejecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int t = 0; t < torniquetes; t++) {
+                    ejecutor.submit(() -> {
+                        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+                        while (System.nanoTime() < fin) {
+                            int membresia = aleatorio.nextInt(100) < PORCENTAJE_INVALIDAS
+                                    ? -1 : aleatorio.nextInt(1, socios + 1);
+                            resultados.get(asistenciaServicio.registrarEntrada(membresia)).increment();
+                        }
+                    });
+                }
+            }
+            long generacionMs = (System.nanoTime() - inicio) / 1_000_000;
+
+            // Esperar a que el escritor vacie la cola (como maximo un minuto)
+            long registradas = resultados.get(ResultadoEntrada.REGISTRADA).sum();
+            long limiteEspera = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+            long escritas;
+            while ((escritas = asistenciaRepositorio.count()) < registradas
+                    && System.nanoTime() < limiteEspera) {
+                TimeUnit.MILLISECONDS.sleep(100);
+            }
+            long totalMs = (System.nanoTime() - inicio) / 1_000_000;
+
+            System.out.printf("Torniquetes: %d, socios: %d, duracion: %d ms%n", torniquetes, socios, generacionMs);
+            resultados.forEach((resultado, total) ->
+                    System.out.printf("  %-18s %,d%n", resultado, total.sum()));
+            System.out.printf("Aceptadas: %,.0f entradas/s%n", registradas * 1000.0 / generacionMs);
+            System.out.printf("Escritas: %,d en %d ms (%,.0f filas/s)%n", escritas, totalMs,
+                    escritas * 1000.0 / totalMs);
+        }
+    }
+}
@@ -1,14 +1,30 @@
 package com.zona_fit;
 
 import com.zona_fit.modelo.Cliente;
+import com.zona_fit.modelo.ClienteResumen;
 import com.zona_fit.servicio.IClienteServicio;
+import com.zona_fit.servicio.ScriptClientes;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.ExitCodeGenerator;
 import org.springframework.boot.SpringApplication;
-import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
 
@@ -17,13 +33,27 @@ import java.util.Scanner;
  * Implementa CommandLineRunner para ejecutar código después del arranque de Spring
  * Proporciona una interfaz de consola para gestionar clientes del gimnasio
  * Se usara Java Swing
+ * Con --script=archivo (o --script=- para la entrada estandar) ejecuta los comandos del archivo
+ * sin menu, escribe los resultados en la salida estandar y termina (ver ScriptClientes)
+ * En modo script se activa ademas el perfil "script": el log y el banner no se mezclan con los
+ * resultados (el log va a la salida de errores, ver logback-spring.xml)
  */
-//@SpringBootApplication // Combina @Configuration, @EnableAutoConfiguration y @ComponentScan
-public class ZonaFitApplication implements CommandLineRunner {
+// Usa la configuracion de ZonaFitWeb (@SpringBootApplication) con el perfil "consola", sin servidor web
+public class ZonaFitApplication implements CommandLineRunner, ExitCodeGenerator {
 
 	@Autowired // Inyección automática del servicio de clientes
 	private IClienteServicio clienteServicio;
 
+	@Autowired
+	private ScriptClientes scriptClientes;
+
+	// Ruta del script a ejecutar, vacio para el menu interactivo
+	@Value("${script:}")
+	private String script;
+
+	// Codigo de salida del modo script: 0 sin errores, 1 si alguna linea fallo
+	private int codigoSalida;
+
 	// Logger para mostrar información en consola de forma profesional
 	private static final Logger logger = LoggerFactory.getLogger(ZonaFitApplication.class);
 
@@ -34,19 +64,61 @@ public class ZonaFitApplication implements CommandLineRunner {
 	 * Método principal que inicia la aplicación Spring Boot
 	 */
 	public static void main(String[] args) {
-		logger.info("Iniciando aplicacion");
+		boolean modoScript = esModoScript(args);
+		if (!modoScript) {
+			// Antes de iniciar Spring el log usa la configuracion por defecto (salida estandar)
+			logger.info("Iniciando aplicacion");
+		}
 		// Levantar el contexto de Spring y ejecutar la aplicación
-		SpringApplication.run(ZonaFitApplication.class, args);
+		ConfigurableApplicationContext contexto = new SpringApplicationBuilder(ZonaFitWeb.class, ZonaFitApplication.class)
+				.profiles(modoScript ? new String[]{"consola", "script"} : new String[]{"consola"})
+				.web(WebApplicationType.NONE)
+				.run(args);
+		if (contexto.getEnvironment().containsProperty("script")) {
+			// En modo script se cierra el contexto y el resultado se informa con el codigo de salida
+			System.exit(SpringApplication.exit(contexto));
+		}
 		logger.info("Aplicacion finalizada");
 	}
 
+	// El perfil debe elegirse antes de arrancar Spring, por eso se mira directamente la linea de comandos
+	private static boolean esModoScript(String[] args) {
+		return System.getProperty("script") != null
+				|| Arrays.stream(args).anyMatch(arg -> arg.startsWith("--script="));
+	}
+
 	/**
 	 * Método ejecutado automáticamente después del arranque de Spring
 	 * Inicia la interfaz de usuario por consola
 	 */
 	@Override
 	public void run(String... args) throws Exception {
-		zonaFitApp();
+		if (script.isEmpty()) {
+			zonaFitApp();
+		} else {
+			ejecutarScript();
+		}
+	}
+
+	@Override
+	public int getExitCode() {
+		return codigoSalida;
+	}
+
+	/**
+	 * Ejecuta el script sin interaccion; los resultados van a la salida estandar y el log al logger
+	 */
+	private void ejecutarScript() throws IOException {
+		PrintWriter salida = new PrintWriter(new BufferedWriter(
+				new OutputStreamWriter(System.out, StandardCharsets.UTF_8)), false);
+		try (Reader lector = script.equals("-")
+				? new InputStreamReader(System.in, StandardCharsets.UTF_8)
+				: Files.newBufferedReader(Path.of(script), StandardCharsets.UTF_8)) {
+			ScriptClientes.Resumen resumen = scriptClientes.ejecutar(lector, salida);
+			codigoSalida = resumen.errores() == 0 ? 0 : 1;
+		} finally {
+			salida.flush();
+		}
 	}
 
 	/**
@@ -54,7 +126,7 @@ public class ZonaFitApplication implements CommandLineRunner {
 	 * Implementa un bucle de menú hasta que el usuario decida salir
 	 */
 	private void zonaFitApp() {
-		logger.info(nl + "*** Aplicacion ZonaFit ***" + nl);
+		logger.info("{}*** Aplicacion ZonaFit ***{}", nl, nl);
 		boolean salir = false;
 		Scanner consola = new Scanner(System.in);
 		
@@ -100,7 +172,7 @@ public class ZonaFitApplication implements CommandLineRunner {
 			case 4 -> modificarCliente(consola);
 			case 5 -> eliminarCliente(consola);
 			case 6 -> {
-				logger.info("Saliendo de la aplicacion" + nl);
+				logger.info("Saliendo de la aplicacion{}", nl);
 				salir = true;
 			}
 			default -> logger.info("Opcion invalida");
@@ -112,11 +184,11 @@ public class ZonaFitApplication implements CommandLineRunner {
 	 * Lista todos los clientes registrados en el sistema
 	 */
 	private void listarClientes(){
-		logger.info(nl + "--- Listando Clientes ---" + nl);
+		logger.info("{}--- Listando Clientes ---{}", nl, nl);
 		List<Cliente> clientes = clienteServicio.listarClientes();
 		
 		// Uso de forEach con expresión lambda para mostrar cada cliente
-		clientes.forEach(cliente -> logger.info(cliente.toString() + nl));
+		clientes.forEach(cliente -> logger.info("{}{}", cliente, nl));
 	}
 
 	/**
@@ -124,7 +196,7 @@ public class ZonaFitApplication implements CommandLineRunner {
 	 * @param consola Scanner para capturar datos del usuario
 	 */
 	private void agregarCliente(Scanner consola){
-		logger.info(nl + "--- Agregar Cliente ---" + nl);
+		logger.info("{}--- Agregar Cliente ---{}", nl, nl);
 		
 		// Captura de datos del nuevo cliente
 		logger.info("Ingrese el nombre del cliente: ");
@@ -144,7 +216,7 @@ public class ZonaFitApplication implements CommandLineRunner {
 	 * @param consola Scanner para capturar el ID del cliente
 	 */
 	private void buscarClientePorId(Scanner consola){
-		logger.info(nl + "--- Buscar Cliente por ID ---" + nl);
+		logger.info("{}--- Buscar Cliente por ID ---{}", nl, nl);
 		logger.info("Ingrese el ID del cliente: ");
 		int id = Integer.parseInt(consola.nextLine());
 		
@@ -152,9 +224,9 @@ public class ZonaFitApplication implements CommandLineRunner {
 		
 		// Validación de existencia del cliente
 		if (cliente != null){
-			logger.info("Cliente encontrado: " + cliente + nl);
+			logger.info("Cliente encontrado: {}{}", cliente, nl);
 		} else {
-			logger.info("Cliente no encontrado: " + cliente + nl);
+			logger.info("Cliente no encontrado: {}{}", id, nl);
 		}
 	}
 
@@ -163,7 +235,7 @@ public class ZonaFitApplication implements CommandLineRunner {
 	 * @param consola Scanner para capturar nuevos datos del cliente
 	 */
 	private void modificarCliente(Scanner consola){
-		logger.info(nl + "--- Modificar Cliente ---" + nl);
+		logger.info("{}--- Modificar Cliente ---{}", nl, nl);
 		logger.info("Ingrese el ID del cliente: ");
 		int id = Integer.parseInt(consola.nextLine());
 		
@@ -182,9 +254,16 @@ public class ZonaFitApplication implements CommandLineRunner {
 		int membresia = Integer.parseInt(consola.nextLine());
 		
 		// Actualizar cliente (el ID existente indica que es una actualización)
-		clienteServicio.guardarCliente(new Cliente(id, nombre, apellido, membresia));
-		logger.info("Cliente modificado correctamente" + nl);
-		logger.info("Cliente modificado: " + clienteServicio.buscarClientePorId(id) + nl);
+		// Se muestran los datos guardados, sin volver a consultar el cliente
+		Cliente cliente = new Cliente(id, nombre, apellido, membresia);
+		if (!clienteServicio.guardarCliente(cliente)){
+			logger.info("Cliente no encontrado");
+			return; // Otro usuario lo elimino mientras se capturaban los datos
+		}
+		logger.info("Cliente modificado correctamente{}", nl);
+		if (logger.isInfoEnabled()){
+			logger.info("Cliente modificado: {}{}", ClienteResumen.de(cliente), nl);
+		}
 	}
 
 	/**
@@ -192,7 +271,7 @@ public class ZonaFitApplication implements CommandLineRunner {
 	 * @param consola Scanner para capturar el ID del cliente a eliminar
 	 */
 	private void eliminarCliente(Scanner consola){
-		logger.info(nl + "--- Eliminar Cliente ---" + nl);
+		logger.info("{}--- Eliminar Cliente ---{}", nl, nl);
 		logger.info("Ingrese el ID del cliente: ");
 		int id = Integer.parseInt(consola.nextLine());
 		
@@ -206,7 +285,7 @@ public class ZonaFitApplication implements CommandLineRunner {
 		
 		// Eliminar cliente y mostrar confirmación
 		clienteServicio.eliminarClientePorId(cliente);
-		logger.info("Cliente eliminado correctamente" + nl);
-		logger.info("Cliente eliminado: " + cliente);
+		logger.info("Cliente eliminado correctamente{}", nl);
+		logger.info("Cliente eliminado: {}", cliente);
 	}
 }
\ No newline at end of file
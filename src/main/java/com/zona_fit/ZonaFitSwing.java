@@ -3,19 +3,19 @@ package com.zona_fit;
 import com.formdev.flatlaf.FlatDarculaLaf;
 import com.zona_fit.gui.ZonaFitForma;
 import org.springframework.boot.WebApplicationType;
-import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.builder.SpringApplicationBuilder;
 import org.springframework.context.ConfigurableApplicationContext;
 
 import javax.swing.*;
 
-//@SpringBootApplication
+// Usa la configuracion de ZonaFitWeb (@SpringBootApplication) con el perfil "escritorio", sin servidor web
 public class ZonaFitSwing {
     public static void main(String[] args) {
         FlatDarculaLaf.setup();
         // Instanciar fabrica Spring
         ConfigurableApplicationContext contextoSpring =
-                new SpringApplicationBuilder(ZonaFitSwing.class)
+                new SpringApplicationBuilder(ZonaFitWeb.class)
+                        .profiles("escritorio")
                         .headless(false)
                         .web(WebApplicationType.NONE)
                         .run(args);
@@ -0,0 +1,38 @@
+package com.zona_fit.configuracion;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Collection;
+
+/**
+ * Configuracion de la cache de clientes
+ * El proveedor (Caffeine), el tamaño maximo y el tiempo de vida se definen en application.properties
+ * Las estadisticas de aciertos/fallos se publican en /actuator/metrics/cache.gets
+ */
+@Configuration
+@EnableCaching // Activa @Cacheable y @CacheEvict en los servicios
+public class CacheConfiguracion {
+
+    // Cache de clientes indexada por id
+    public static final String CACHE_CLIENTES = "clientes";
+
+    // Id de cliente indexado por numero de membresia (validacion de entradas)
+    public static final String CACHE_MEMBRESIAS = "membresias";
+
+    /**
+     * Quita de la cache de membresias las entradas que apuntan a los clientes indicados
+     * Sirve cuando no se conoce la membresia anterior: se recorre la cache en memoria
+     * (acotada por maximumSize) en lugar de leer el cliente de la base de datos
+     * @param cacheManager Administrador de caches
+     * @param idsClientes Ids de los clientes modificados o eliminados
+     */
+    public static void invalidarMembresiasDe(CacheManager cacheManager, Collection<Integer> idsClientes) {
+        Cache cache = cacheManager.getCache(CACHE_MEMBRESIAS);
+        if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            caffeine.asMap().values().removeIf(idsClientes::contains);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.zona_fit.configuracion;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.stereotype.Component;
+
+/**
+ * Acceso estatico al contexto de Spring
+ * Lo usan los beans de vista al deserializarse desde una sesion compartida (perfil cluster),
+ * donde la inyeccion de dependencias no vuelve a ejecutarse
+ */
+@Component
+public class ContextoAplicacion implements ApplicationContextAware {
+
+    private static ApplicationContext contexto;
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) {
+        contexto = applicationContext;
+    }
+
+    public static <T> T getBean(Class<T> tipo) {
+        return contexto.getBean(tipo);
+    }
+}
@@ -0,0 +1,68 @@
+package com.zona_fit.configuracion;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Enrutamiento de conexiones entre la base principal y una replica de lectura
+ * Se activa con zonafit.replica.habilitada=true; sin ella se usa el unico pool autoconfigurado
+ * Las transacciones @Transactional(readOnly = true) leen de la replica y el resto
+ * (guardar, eliminar, importar) escribe en la principal
+ */
+@Configuration
+@ConditionalOnProperty(name = "zonafit.replica.habilitada", havingValue = "true")
+public class DataSourceConfiguracion {
+
+    /**
+     * Pool de la base principal, configurado con spring.datasource.*
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primarioDataSource(DataSourceProperties propiedades) {
+        HikariDataSource dataSource = propiedades.initializeDataSourceBuilder()
+                .type(HikariDataSource.class).build();
+        dataSource.setPoolName("primario");
+        return dataSource;
+    }
+
+    /**
+     * Pool de la replica, configurado con zonafit.replica.datasource.* (jdbc-url, username, ...)
+     */
+    @Bean
+    @ConfigurationProperties("zonafit.replica.datasource")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class).build();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    /**
+     * DataSource que usan JPA y JdbcTemplate
+     * LazyConnectionDataSourceProxy retrasa la obtencion de la conexion real hasta la primera
+     * sentencia, cuando la transaccion ya esta marcada como de solo lectura o de escritura
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primarioDataSource") DataSource primario,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 MonitorReplica monitorReplica) {
+        EnrutadorDataSource enrutador = new EnrutadorDataSource(monitorReplica);
+        enrutador.setTargetDataSources(Map.of(
+                EnrutadorDataSource.Destino.PRIMARIO, primario,
+                EnrutadorDataSource.Destino.REPLICA, replica));
+        enrutador.setDefaultTargetDataSource(primario);
+        enrutador.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(enrutador);
+    }
+}
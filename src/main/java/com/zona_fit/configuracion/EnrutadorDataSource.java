@@ -0,0 +1,26 @@
+package com.zona_fit.configuracion;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Elige la base de cada conexion segun la transaccion en curso
+ * Solo las transacciones de solo lectura van a la replica, y solo si su retraso es aceptable;
+ * todo lo demas (escrituras y accesos sin transaccion) va a la principal
+ */
+public class EnrutadorDataSource extends AbstractRoutingDataSource {
+
+    public enum Destino { PRIMARIO, REPLICA }
+
+    private final MonitorReplica monitorReplica;
+
+    public EnrutadorDataSource(MonitorReplica monitorReplica) {
+        this.monitorReplica = monitorReplica;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && monitorReplica.isDisponible() ? Destino.REPLICA : Destino.PRIMARIO;
+    }
+}
@@ -0,0 +1,31 @@
+package com.zona_fit.configuracion;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuracion de hilos de la aplicacion
+ * Con el perfil "virtual" (spring.threads.virtual.enabled=true) Spring Boot usa hilos virtuales
+ * tanto en Tomcat como en el ejecutor de tareas @Async; sin el perfil se usan hilos de plataforma
+ */
+@Configuration
+@EnableAsync // Las tareas @Async usan el ejecutor autoconfigurado (virtual o de plataforma)
+@EnableScheduling // Tareas @Scheduled (p. ej. verificacion de la replica)
+public class HilosConfiguracion {
+
+    private static final Logger logger = LoggerFactory.getLogger(HilosConfiguracion.class);
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean hilosVirtuales;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void informarModo() {
+        logger.info("Modo de hilos: {}", hilosVirtuales ? "virtuales" : "plataforma");
+    }
+}
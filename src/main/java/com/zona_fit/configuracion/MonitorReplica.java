@@ -0,0 +1,85 @@
+package com.zona_fit.configuracion;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Vigila el retraso de la replica (SHOW REPLICA STATUS de MySQL)
+ * Si supera zonafit.replica.retraso-maximo-segundos, si la replicacion esta detenida
+ * o si la replica no responde, las lecturas vuelven a la base principal hasta que se recupere
+ */
+@Component
+@ConditionalOnProperty(name = "zonafit.replica.habilitada", havingValue = "true")
+public class MonitorReplica {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonitorReplica.class);
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Value("${zonafit.replica.retraso-maximo-segundos:5}")
+    private long retrasoMaximoSegundos;
+
+    // Desactivar solo cuando la "replica" no replica (p. ej. dos bases H2 en las pruebas)
+    @Value("${zonafit.replica.verificar-retraso:true}")
+    private boolean verificarRetraso;
+
+    private volatile boolean disponible;
+
+    @PostConstruct
+    public void iniciar() {
+        // Hasta la primera verificacion se lee de la principal
+        disponible = !verificarRetraso;
+    }
+
+    public boolean isDisponible() {
+        return disponible;
+    }
+
+    @Scheduled(fixedDelayString = "${zonafit.replica.intervalo-verificacion-ms:5000}")
+    public void verificar() {
+        if (!verificarRetraso) {
+            return;
+        }
+        try {
+            Long retraso = new JdbcTemplate(replicaDataSource).query("SHOW REPLICA STATUS",
+                    resultado -> {
+                        if (!resultado.next()) {
+                            return 0L; // No es una replica, se lee tal cual
+                        }
+                        long segundos = resultado.getLong("Seconds_Behind_Source");
+                        return resultado.wasNull() ? null : segundos;
+                    });
+            actualizarEstado(retraso);
+        } catch (DataAccessException e) {
+            logger.debug("No se pudo consultar la replica: {}", e.getMessage());
+            actualizarEstado(null);
+        }
+    }
+
+    /**
+     * Actualiza la disponibilidad de la replica a partir de su retraso
+     * @param retrasoSegundos Segundos de retraso, null si la replicacion esta detenida o no responde
+     */
+    public void actualizarEstado(Long retrasoSegundos) {
+        boolean anterior = disponible;
+        disponible = retrasoSegundos != null && retrasoSegundos <= retrasoMaximoSegundos;
+        if (anterior != disponible) {
+            logger.info("Replica {} (retraso: {} s)",
+                    disponible ? "disponible para lecturas" : "fuera de servicio, se lee de la principal",
+                    retrasoSegundos);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.zona_fit.configuracion;
+
+import com.zona_fit.controlador.ClientesPushHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * Canal WebSocket /ws/clientes por el que se envian a las vistas abiertas
+ * los cambios de clientes, renglon por renglon
+ */
+@Configuration
+@EnableWebSocket
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class WebSocketConfiguracion implements WebSocketConfigurer {
+
+    @Autowired
+    private ClientesPushHandler clientesPushHandler;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registro) {
+        registro.addHandler(clientesPushHandler, "/ws/clientes");
+    }
+}
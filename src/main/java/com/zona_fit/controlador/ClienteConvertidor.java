@@ -0,0 +1,41 @@
+package com.zona_fit.controlador;
+
+import com.zona_fit.modelo.Cliente;
+import com.zona_fit.servicio.IClienteServicio;
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.convert.Converter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+
+/**
+ * Convertidor JSF de Cliente a su id y viceversa, usado por el autocompletado
+ * La busqueda por id pasa por la cache de clientes
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ClienteConvertidor implements Converter<Cliente> {
+
+    @Autowired
+    private IClienteServicio clienteServicio;
+
+    @Override
+    public Cliente getAsObject(FacesContext contexto, UIComponent componente, String valor) {
+        if (valor == null || valor.isBlank()) {
+            return null;
+        }
+        try {
+            Cliente cliente = clienteServicio.buscarClientePorId(Integer.valueOf(valor));
+            // Copia para que la edicion en el formulario no modifique la instancia en cache
+            return cliente == null ? null : cliente.copia();
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String getAsString(FacesContext contexto, UIComponent componente, Cliente cliente) {
+        return cliente == null || cliente.getId() == null ? "" : cliente.getId().toString();
+    }
+}
@@ -0,0 +1,111 @@
+package com.zona_fit.controlador;
+
+import com.zona_fit.configuracion.ContextoAplicacion;
+import com.zona_fit.modelo.ClienteResumen;
+import com.zona_fit.resiliencia.ServicioSaturadoException;
+import com.zona_fit.servicio.IClienteServicio;
+import jakarta.faces.context.FacesContext;
+import org.primefaces.model.FilterMeta;
+import org.primefaces.model.LazyDataModel;
+import org.primefaces.model.SortMeta;
+import org.primefaces.model.SortOrder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Modelo de datos perezoso para la tabla de clientes
+ * Solo consulta la pagina visible, con orden y filtros resueltos en la base de datos,
+ * de modo que la memoria por vista y el tamaño de la respuesta dependen del tamaño de pagina
+ * Las filas son resumenes de solo lectura (ClienteResumen), no entidades administradas
+ */
+public class ClienteLazyDataModel extends LazyDataModel<ClienteResumen> {
+
+    // Columnas por las que se permite ordenar
+    private static final Set<String> CAMPOS_ORDEN = Set.of("id", "nombre", "apellido", "membresia");
+
+    private transient IClienteServicio clienteServicio;
+
+    public ClienteLazyDataModel(IClienteServicio clienteServicio) {
+        this.clienteServicio = clienteServicio;
+    }
+
+    // Al recuperar la vista de una sesion compartida (perfil cluster) se vuelve a obtener el servicio
+    private void readObject(ObjectInputStream entrada) throws IOException, ClassNotFoundException {
+        entrada.defaultReadObject();
+        this.clienteServicio = ContextoAplicacion.getBean(IClienteServicio.class);
+    }
+
+    @Override
+    public int count(Map<String, FilterMeta> filterBy) {
+        // La tabla se carga al renderizar, despues del manejador de excepciones de JSF
+        try {
+            return (int) clienteServicio.contarClientes(aFiltros(filterBy));
+        } catch (ServicioSaturadoException e) {
+            SaturacionExceptionHandlerFactory.informarSaturacion(FacesContext.getCurrentInstance());
+            return 0;
+        }
+    }
+
+    @Override
+    public List<ClienteResumen> load(int first, int pageSize, Map<String, SortMeta> sortBy,
+                              Map<String, FilterMeta> filterBy) {
+        int tamanoPagina = pageSize > 0 ? pageSize : 10;
+        PageRequest pagina = PageRequest.of(first / tamanoPagina, tamanoPagina, aOrden(sortBy));
+        try {
+            return clienteServicio.listarResumenClientes(aFiltros(filterBy), pagina);
+        } catch (ServicioSaturadoException e) {
+            SaturacionExceptionHandlerFactory.informarSaturacion(FacesContext.getCurrentInstance());
+            return List.of();
+        }
+    }
+
+    @Override
+    public String getRowKey(ClienteResumen cliente) {
+        return String.valueOf(cliente.getId());
+    }
+
+    @Override
+    public ClienteResumen getRowData(String rowKey) {
+        List<ClienteResumen> pagina = getWrappedData();
+        if (pagina != null) {
+            for (ClienteResumen cliente : pagina) {
+                if (rowKey.equals(getRowKey(cliente))) {
+                    return cliente;
+                }
+            }
+        }
+        return null;
+    }
+
+    private Map<String, Object> aFiltros(Map<String, FilterMeta> filterBy) {
+        Map<String, Object> filtros = new HashMap<>();
+        if (filterBy != null) {
+            filterBy.values().forEach(filtro ->
+                    filtros.put(filtro.getField(), filtro.getFilterValue()));
+        }
+        return filtros;
+    }
+
+    private Sort aOrden(Map<String, SortMeta> sortBy) {
+        Sort orden = Sort.unsorted();
+        if (sortBy != null) {
+            for (SortMeta meta : sortBy.values()) {
+                if (!CAMPOS_ORDEN.contains(meta.getField()) || meta.getOrder() == SortOrder.UNSORTED) {
+                    continue;
+                }
+                Sort.Direction direccion = meta.getOrder() == SortOrder.DESCENDING
+                        ? Sort.Direction.DESC : Sort.Direction.ASC;
+                orden = orden.and(Sort.by(direccion, meta.getField()));
+            }
+        }
+        // Desempate por id para que la paginacion sea estable
+        return orden.getOrderFor("id") == null ? orden.and(Sort.by("id")) : orden;
+    }
+}
@@ -0,0 +1,119 @@
+package com.zona_fit.controlador;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zona_fit.modelo.Cliente;
+import com.zona_fit.servicio.IClienteServicio;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * API REST de solo lectura de clientes para integraciones (app movil, tornos)
+ * - GET /api/clientes/{id}: un cliente con su version como ETag; con If-None-Match igual responde 304
+ * - GET /api/clientes: todos los clientes en NDJSON (un objeto JSON por linea), escritos a medida
+ *   que se leen con el cursor, sin armar la lista en memoria
+ * - GET /api/clientes/cambios?desde=N: solo lo creado, modificado o eliminado despues de la version N,
+ *   en NDJSON; la ultima linea trae la version a enviar en la siguiente sincronizacion (204 si no hay cambios);
+ *   los cambios de los ultimos minutos pueden repetirse en la siguiente sincronizacion
+ * La compresion gzip de las respuestas la aplica el servidor (server.compression.*)
+ */
+@RestController
+@RequestMapping("/api/clientes")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ClienteRestControlador {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    // Escrituras agrupadas hacia la respuesta
+    private static final int TAMANO_BUFFER = 64 * 1024;
+
+    @Autowired
+    private IClienteServicio clienteServicio;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Linea de la sincronizacion por cambios: CLIENTE (creado o modificado), ELIMINADO o VERSION (ultima linea)
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Cambio(String tipo, Cliente cliente, Integer id, Long version) {
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Cliente> buscar(@PathVariable Integer id, WebRequest peticion) {
+        Cliente cliente = clienteServicio.buscarClientePorId(id);
+        if (cliente == null) {
+            return ResponseEntity.notFound().build();
+        }
+        String etiqueta = etiqueta(cliente.getVersion() != null ? cliente.getVersion() : 0);
+        if (peticion.checkNotModified(etiqueta)) {
+            return null; // 304 ya preparado por checkNotModified
+        }
+        return ResponseEntity.ok().eTag(etiqueta).body(cliente);
+    }
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> listar(WebRequest peticion) {
+        String etiqueta = etiqueta(clienteServicio.etiquetaClientes());
+        if (peticion.checkNotModified(etiqueta)) {
+            return null;
+        }
+        StreamingResponseBody cuerpo = salida -> escribir(salida, linea ->
+                clienteServicio.exportarClientes(linea::accept));
+        return ResponseEntity.ok().eTag(etiqueta).contentType(NDJSON).body(cuerpo);
+    }
+
+    @GetMapping("/cambios")
+    public ResponseEntity<StreamingResponseBody> cambios(@RequestParam(defaultValue = "0") long desde) {
+        // Consulta barata antes de abrir la transaccion del cursor: sin cambios no hay cuerpo
+        if (clienteServicio.versionActualClientes() <= desde) {
+            return ResponseEntity.noContent().build();
+        }
+        StreamingResponseBody cuerpo = salida -> escribir(salida, linea -> {
+            long hasta = clienteServicio.exportarCambios(desde,
+                    cliente -> linea.accept(new Cambio("CLIENTE", cliente, null, null)),
+                    id -> linea.accept(new Cambio("ELIMINADO", null, id, null)));
+            linea.accept(new Cambio("VERSION", null, null, hasta));
+        });
+        return ResponseEntity.ok().contentType(NDJSON).body(cuerpo);
+    }
+
+    // El productor recibe el destino de las lineas: cada objeto se escribe como JSON seguido de '\n'
+    private void escribir(OutputStream salida, Consumer<Consumer<Object>> productor) throws IOException {
+        BufferedOutputStream buffer = new BufferedOutputStream(salida, TAMANO_BUFFER);
+        try {
+            productor.accept(valor -> {
+                try {
+                    buffer.write(objectMapper.writeValueAsBytes(valor));
+                    buffer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // El cliente cerro la conexion: se corta el cursor y se libera la transaccion
+            throw e.getCause();
+        }
+        buffer.flush();
+    }
+
+    private static String etiqueta(Object version) {
+        return "\"" + version + "\"";
+    }
+}
@@ -0,0 +1,94 @@
+package com.zona_fit.controlador;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zona_fit.modelo.Cliente;
+import com.zona_fit.servicio.ClienteEvento;
+import com.zona_fit.servicio.ClientesImportadosEvento;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Envia a todas las vistas abiertas de index.xhtml los cambios de clientes confirmados
+ * Cada mensaje lleva solo el renglon modificado; el navegador actualiza esa fila
+ * sin volver a pedir la tabla (ver resources/js/clientes.js)
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ClientesPushHandler extends TextWebSocketHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientesPushHandler.class);
+
+    // Limites por conexion para que un navegador lento no bloquee el envio a los demas
+    private static final int TIEMPO_MAXIMO_ENVIO_MS = 5_000;
+    private static final int BUFFER_MAXIMO_BYTES = 64 * 1024;
+
+    private final Map<String, WebSocketSession> sesiones = new ConcurrentHashMap<>();
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession sesion) {
+        sesiones.put(sesion.getId(), new ConcurrentWebSocketSessionDecorator(sesion,
+                TIEMPO_MAXIMO_ENVIO_MS, BUFFER_MAXIMO_BYTES));
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession sesion, CloseStatus estado) {
+        sesiones.remove(sesion.getId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarCliente(ClienteEvento evento) {
+        Cliente cliente = evento.cliente();
+        enviar(new MensajeCliente(evento.tipo().name(), cliente.getId(), cliente.getNombre(),
+                cliente.getApellido(), cliente.getMembresia()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alImportarClientes(ClientesImportadosEvento evento) {
+        enviar(new MensajeCliente("IMPORTADOS", null, null, null, null));
+    }
+
+    private void enviar(MensajeCliente mensaje) {
+        if (sesiones.isEmpty()) {
+            return;
+        }
+        TextMessage texto;
+        try {
+            texto = new TextMessage(objectMapper.writeValueAsString(mensaje));
+        } catch (JsonProcessingException e) {
+            logger.warn("No se pudo serializar el cambio de cliente: {}", e.getMessage());
+            return;
+        }
+        sesiones.values().forEach(sesion -> {
+            try {
+                sesion.sendMessage(texto);
+            } catch (IOException | IllegalStateException e) {
+                sesiones.remove(sesion.getId());
+            }
+        });
+    }
+
+    /**
+     * Mensaje enviado al navegador
+     * @param tipo CREADO, ACTUALIZADO, ELIMINADO o IMPORTADOS
+     */
+    public record MensajeCliente(String tipo, Integer id, String nombre, String apellido,
+                                 Integer membresia) {
+    }
+}
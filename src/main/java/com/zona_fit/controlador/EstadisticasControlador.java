@@ -0,0 +1,45 @@
+package com.zona_fit.controlador;
+
+import com.zona_fit.configuracion.ContextoAplicacion;
+import com.zona_fit.servicio.EstadisticasClientes;
+import com.zona_fit.servicio.IEstadisticasServicio;
+import jakarta.annotation.PostConstruct;
+import jakarta.faces.view.ViewScoped;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+
+/**
+ * Controlador del tablero de estadisticas (estadisticas.xhtml)
+ * Lee los contadores en memoria, por eso puede refrescarse con frecuencia
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Data
+@ViewScoped
+public class EstadisticasControlador implements Serializable {
+
+    @Autowired
+    transient IEstadisticasServicio estadisticasServicio;
+    private EstadisticasClientes estadisticas;
+
+    @PostConstruct
+    public void init(){
+        actualizar();
+    }
+
+    // Al recuperar la vista de una sesion compartida (perfil cluster) se vuelve a obtener el servicio
+    private void readObject(ObjectInputStream entrada) throws IOException, ClassNotFoundException {
+        entrada.defaultReadObject();
+        this.estadisticasServicio = ContextoAplicacion.getBean(IEstadisticasServicio.class);
+    }
+
+    public void actualizar(){
+        this.estadisticas = this.estadisticasServicio.obtenerEstadisticas();
+    }
+}
@@ -1,29 +1,49 @@
 package com.zona_fit.controlador;
 
+import com.zona_fit.configuracion.ContextoAplicacion;
 import com.zona_fit.modelo.Cliente;
+import com.zona_fit.modelo.ClienteResumen;
+import com.zona_fit.servicio.ClienteCsv;
+import com.zona_fit.servicio.ClienteModificadoException;
 import com.zona_fit.servicio.IClienteServicio;
+import com.zona_fit.servicio.ResultadoImportacion;
 import jakarta.annotation.PostConstruct;
 import jakarta.faces.application.FacesMessage;
 import jakarta.faces.context.FacesContext;
 import jakarta.faces.view.ViewScoped;
 import lombok.Data;
 import org.primefaces.PrimeFaces;
+import org.primefaces.event.FileUploadEvent;
+import org.primefaces.event.SelectEvent;
+import org.primefaces.model.LazyDataModel;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import org.slf4j.Logger;
 
 @Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Data
 @ViewScoped
-public class IndexControlador {
+public class IndexControlador implements Serializable {
 
     @Autowired
-    IClienteServicio clienteServicio;
-    private List<Cliente> clientes;
+    transient IClienteServicio clienteServicio;
+    // Solo mantiene en la vista la pagina visible, no la tabla completa;
+    // el cliente a editar o eliminar se obtiene por id desde la cache de clientes
+    private LazyDataModel<ClienteResumen> clientes;
     private Cliente clienteSeleccionado;
+    // Cliente elegido en el buscador (autocompletado)
+    private Cliente clienteBuscado;
     private static final Logger logger = LoggerFactory.getLogger(IndexControlador.class);
 
     @PostConstruct
@@ -31,9 +51,55 @@ public class IndexControlador {
         cargarDatos();
     }
 
+    // Al recuperar la vista de una sesion compartida (perfil cluster) se vuelve a obtener el servicio
+    private void readObject(ObjectInputStream entrada) throws IOException, ClassNotFoundException {
+        entrada.defaultReadObject();
+        this.clienteServicio = ContextoAplicacion.getBean(IClienteServicio.class);
+    }
+
     public void cargarDatos(){
-        this.clientes = this.clienteServicio.listarClientes();
-        this.clientes.forEach(cliente -> logger.info(cliente.toString()));
+        this.clientes = new ClienteLazyDataModel(this.clienteServicio);
+    }
+
+    public List<Cliente> completarClientes(String consulta){
+        return this.clienteServicio.buscarClientes(consulta, 10);
+    }
+
+    public void seleccionarClienteBuscado(SelectEvent<Cliente> evento){
+        // Abrir el cliente encontrado en la ventana de edicion
+        this.clienteSeleccionado = evento.getObject();
+        this.clienteBuscado = null;
+    }
+
+    public void editarCliente(){
+        Integer idCliente = idClienteSolicitado();
+        Cliente cliente = idCliente == null ? null : this.clienteServicio.buscarClientePorId(idCliente);
+        if (cliente == null){
+            this.clienteSeleccionado = null;
+            FacesContext.getCurrentInstance().addMessage(null,
+                    new FacesMessage(FacesMessage.SEVERITY_WARN, "Cliente no encontrado",
+                            "El cliente fue eliminado por otro usuario"));
+            return;
+        }
+        // Copia para no modificar la instancia compartida en cache al editar
+        this.clienteSeleccionado = cliente.copia();
+        PrimeFaces.current().executeScript("PF('ventanaModalCliente').show()");
+    }
+
+    public void seleccionarParaEliminar(){
+        // Para eliminar basta con el id
+        Integer idCliente = idClienteSolicitado();
+        this.clienteSeleccionado = idCliente == null ? null : new Cliente(idCliente, null, null, null);
+    }
+
+    private Integer idClienteSolicitado(){
+        String id = FacesContext.getCurrentInstance().getExternalContext()
+                .getRequestParameterMap().get("idCliente");
+        try {
+            return id == null ? null : Integer.valueOf(id);
+        } catch (NumberFormatException e){
+            return null;
+        }
     }
 
     public void agregarCliente(){
@@ -41,39 +107,81 @@ public class IndexControlador {
     }
 
     public void guardarCliente(){
-        logger.info("Cliente a guardar: " + this.clienteSeleccionado);
+        // Los cambios confirmados quedan en la bitacora de clientes (BitacoraClientes)
+        logger.debug("Cliente a guardar: {}", this.clienteSeleccionado);
         //Agregar
         if (this.clienteSeleccionado.getId() == null){
             this.clienteServicio.guardarCliente(this.clienteSeleccionado);
-            this.clientes.add(this.clienteSeleccionado);
             FacesContext.getCurrentInstance().addMessage(null,
                     new FacesMessage("Cliente Agregado"));
         }
-        // Modificar (update)
+        // Modificar (update), solo si nadie lo cambio desde que se abrio la ventana
         else {
-            this.clienteServicio.guardarCliente(this.clienteSeleccionado);
-            FacesContext.getCurrentInstance().addMessage(null,
-                    new FacesMessage("Cliente Actualizado"));
+            boolean actualizado;
+            try {
+                actualizado = this.clienteServicio.guardarCliente(this.clienteSeleccionado);
+            } catch (ClienteModificadoException e){
+                recargarClienteModificado();
+                return;
+            }
+            FacesContext.getCurrentInstance().addMessage(null, actualizado
+                    ? new FacesMessage("Cliente Actualizado")
+                    : new FacesMessage(FacesMessage.SEVERITY_WARN, "Cliente no encontrado",
+                            "El cliente fue eliminado por otro usuario"));
         }
         // Ocultar la ventana modal
         PrimeFaces.current().executeScript("PF('ventanaModalCliente').hide()");
-        // Actualizar la tabla
-        PrimeFaces.current().ajax().update("forma-clientes:mensajes",
-                "forma-clientes:clientes-tabla");
+        // La fila se actualiza en todas las vistas abiertas por WebSocket (ClientesPushHandler)
+        PrimeFaces.current().ajax().update("forma-clientes:mensajes");
         // Resetear el formulario
         this.clienteSeleccionado = null;
     }
 
+    // Otro usuario guardo el cliente antes: se muestran sus datos actuales en la ventana abierta
+    // para revisar los cambios y volver a guardar
+    private void recargarClienteModificado(){
+        Cliente actual = this.clienteServicio.buscarClienteActual(this.clienteSeleccionado.getId());
+        if (actual == null){
+            this.clienteSeleccionado = null;
+            FacesContext.getCurrentInstance().addMessage(null,
+                    new FacesMessage(FacesMessage.SEVERITY_WARN, "Cliente no encontrado",
+                            "El cliente fue eliminado por otro usuario"));
+            PrimeFaces.current().executeScript("PF('ventanaModalCliente').hide()");
+        } else {
+            this.clienteSeleccionado = actual.copia();
+            FacesContext.getCurrentInstance().addMessage(null,
+                    new FacesMessage(FacesMessage.SEVERITY_WARN, "Cliente modificado",
+                            "Otro usuario lo cambio; se cargaron sus datos actuales, revise y guarde de nuevo"));
+            PrimeFaces.current().ajax().update("forma-modal:cliente-ventana");
+        }
+        PrimeFaces.current().ajax().update("forma-clientes:mensajes");
+    }
+
     public void eliminarCliente(){
-        logger.info("Cliente a eliminar: " + this.clienteSeleccionado);
-        this.clienteServicio.eliminarClientePorId(this.clienteSeleccionado);
-        // Eliminar el registro de la lista de clientes
-        this.clientes.remove(this.clienteSeleccionado);
+        logger.debug("Cliente a eliminar: {}", this.clienteSeleccionado);
+        boolean eliminado = this.clienteServicio.eliminarClientePorId(this.clienteSeleccionado);
         // Reset del objeto seleccionado
         this.clienteSeleccionado = null;
-        FacesContext.getCurrentInstance().addMessage(null,
-                new FacesMessage("Cliente Eliminado"));
-        PrimeFaces.current().ajax().update("forma-clientes:mensajes",
-                "forma-clientes:clientes-tabla");
+        FacesContext.getCurrentInstance().addMessage(null, eliminado
+                ? new FacesMessage("Cliente Eliminado")
+                : new FacesMessage(FacesMessage.SEVERITY_WARN, "Cliente no encontrado",
+                        "El cliente ya habia sido eliminado"));
+        PrimeFaces.current().ajax().update("forma-clientes:mensajes");
+    }
+
+    public void importarClientes(FileUploadEvent evento){
+        try (Reader lector = new InputStreamReader(evento.getFile().getInputStream(),
+                StandardCharsets.UTF_8)){
+            ResultadoImportacion resultado =
+                    this.clienteServicio.guardarClientes(ClienteCsv.leer(lector));
+            FacesContext.getCurrentInstance().addMessage(null,
+                    new FacesMessage("Clientes Importados", String.format("%d clientes (%.0f filas/s)",
+                            resultado.registros(), resultado.filasPorSegundo())));
+        } catch (IOException | IllegalArgumentException e){
+            logger.warn("Error al importar clientes: {}", e.getMessage());
+            FacesContext.getCurrentInstance().addMessage(null,
+                    new FacesMessage(FacesMessage.SEVERITY_ERROR, "Error al importar", e.getMessage()));
+        }
+        PrimeFaces.current().ajax().update("forma-clientes:mensajes");
     }
 }
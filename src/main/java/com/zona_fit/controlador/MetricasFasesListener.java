@@ -0,0 +1,44 @@
+package com.zona_fit.controlador;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.faces.event.PhaseEvent;
+import jakarta.faces.event.PhaseId;
+import jakarta.faces.event.PhaseListener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el tiempo de cada fase del ciclo de vida JSF (metrica jsf.fase, etiqueta fase)
+ * Permite distinguir si una pagina lenta se debe a la consulta o al renderizado
+ * Se registra en META-INF/faces-config.xml; JSF lo instancia, por eso usa el registro global
+ */
+public class MetricasFasesListener implements PhaseListener {
+
+    private static final String ATRIBUTO_INICIO = MetricasFasesListener.class.getName() + ".inicio.";
+
+    @Override
+    public void beforePhase(PhaseEvent evento) {
+        evento.getFacesContext().getAttributes()
+                .put(ATRIBUTO_INICIO + evento.getPhaseId().getName(), System.nanoTime());
+    }
+
+    @Override
+    public void afterPhase(PhaseEvent evento) {
+        Object inicio = evento.getFacesContext().getAttributes()
+                .remove(ATRIBUTO_INICIO + evento.getPhaseId().getName());
+        if (inicio instanceof Long nanos) {
+            Timer.builder("jsf.fase")
+                    .description("Tiempo por fase del ciclo de vida JSF")
+                    .tag("fase", evento.getPhaseId().getName())
+                    .publishPercentileHistogram()
+                    .register(Metrics.globalRegistry)
+                    .record(System.nanoTime() - nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public PhaseId getPhaseId() {
+        return PhaseId.ANY_PHASE;
+    }
+}
@@ -0,0 +1,214 @@
+package com.zona_fit.controlador;
+
+import jakarta.faces.application.ProjectStage;
+import jakarta.faces.application.Resource;
+import jakarta.faces.application.ResourceHandler;
+import jakarta.faces.application.ResourceHandlerWrapper;
+import jakarta.faces.application.ResourceWrapper;
+import jakarta.faces.context.ExternalContext;
+import jakarta.faces.context.FacesContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Recursos estaticos (css, js, fuentes) con URL versionada por contenido y cache inmutable
+ * - Las URL de los recursos llevan v=huella del contenido (PrimeFaces ya agrega su version),
+ *   de modo que un cambio de contenido cambia la URL
+ * - Las peticiones versionadas se sirven desde memoria con Cache-Control immutable y ETag;
+ *   el navegador no vuelve a pedirlas mientras la URL no cambie
+ * - Los tipos de texto se comprimen con gzip una sola vez y se sirven ya comprimidos
+ * En etapa Development no se guarda nada en memoria para ver los cambios al recargar
+ * Se registra en META-INF/faces-config.xml
+ */
+public class RecursosEstaticosResourceHandler extends ResourceHandlerWrapper {
+
+    private static final String PARAMETRO_VERSION = "v";
+    private static final String CACHE_INMUTABLE = "public, max-age=31536000, immutable";
+    private static final Set<String> TIPOS_COMPRIMIBLES = Set.of("text/css", "text/javascript",
+            "application/javascript", "application/json", "image/svg+xml");
+
+    // Los recursos mas grandes se sirven sin guardarlos en memoria
+    private static final int TAMANO_MAXIMO = 2 * 1024 * 1024;
+
+    // Contenido ya leido por recurso (libreria:nombre)
+    private final Map<String, Contenido> contenidos = new ConcurrentHashMap<>();
+
+    public RecursosEstaticosResourceHandler(ResourceHandler wrapped) {
+        super(wrapped);
+    }
+
+    // Contenido de un recurso con su huella y, si conviene, su version comprimida
+    private record Contenido(byte[] bytes, byte[] gzip, String huella, String tipo) {
+    }
+
+    @Override
+    public Resource createResource(String nombre) {
+        return versionar(getWrapped().createResource(nombre));
+    }
+
+    @Override
+    public Resource createResource(String nombre, String libreria) {
+        return versionar(getWrapped().createResource(nombre, libreria));
+    }
+
+    @Override
+    public Resource createResource(String nombre, String libreria, String tipo) {
+        return versionar(getWrapped().createResource(nombre, libreria, tipo));
+    }
+
+    private Resource versionar(Resource recurso) {
+        return recurso == null ? null : new RecursoVersionado(recurso);
+    }
+
+    @Override
+    public void handleResourceRequest(FacesContext contexto) throws IOException {
+        ExternalContext externo = contexto.getExternalContext();
+        Map<String, String> parametros = externo.getRequestParameterMap();
+        // pfdrid: contenido dinamico de PrimeFaces (graficas, descargas), nunca se guarda
+        if (!parametros.containsKey(PARAMETRO_VERSION) || parametros.containsKey("pfdrid")
+                || contexto.isProjectStage(ProjectStage.Development) || !servir(contexto)) {
+            getWrapped().handleResourceRequest(contexto);
+        }
+    }
+
+    // Sirve un recurso versionado desde memoria; false si debe servirlo JSF
+    private boolean servir(FacesContext contexto) throws IOException {
+        ExternalContext externo = contexto.getExternalContext();
+        String nombre = nombreRecurso(externo);
+        if (nombre == null) {
+            return false;
+        }
+        Resource recurso = createResource(nombre, externo.getRequestParameterMap().get("ln"));
+        Contenido contenido = recurso == null ? null : contenido(recurso);
+        // Una URL con otra version (p. ej. de una pagina anterior al despliegue) la sirve JSF
+        String version = externo.getRequestParameterMap().get(PARAMETRO_VERSION);
+        if (contenido == null || version == null || !version.equals(parametroVersion(recurso.getRequestPath()))) {
+            return false;
+        }
+        String aceptadas = externo.getRequestHeaderMap().getOrDefault("Accept-Encoding", "");
+        boolean comprimido = contenido.gzip() != null && aceptadas.contains("gzip");
+        String etiqueta = "\"" + contenido.huella() + (comprimido ? "-gz" : "") + "\"";
+
+        externo.setResponseHeader("Cache-Control", CACHE_INMUTABLE);
+        externo.setResponseHeader("ETag", etiqueta);
+        externo.setResponseHeader("Vary", "Accept-Encoding");
+        if (etiqueta.equals(externo.getRequestHeaderMap().get("If-None-Match"))) {
+            externo.setResponseStatus(304);
+        } else {
+            byte[] cuerpo = comprimido ? contenido.gzip() : contenido.bytes();
+            externo.setResponseContentType(contenido.tipo());
+            if (comprimido) {
+                externo.setResponseHeader("Content-Encoding", "gzip");
+            }
+            externo.setResponseContentLength(cuerpo.length);
+            try (OutputStream salida = externo.getResponseOutputStream()) {
+                salida.write(cuerpo);
+            }
+        }
+        contexto.responseComplete();
+        return true;
+    }
+
+    // Valor exacto del parametro v de una URL de recurso (null si no lo lleva)
+    private static String parametroVersion(String ruta) {
+        int consulta = ruta.indexOf('?');
+        if (consulta == -1) {
+            return null;
+        }
+        for (String parametro : ruta.substring(consulta + 1).split("&")) {
+            if (parametro.startsWith(PARAMETRO_VERSION + "=")) {
+                return parametro.substring(PARAMETRO_VERSION.length() + 1);
+            }
+        }
+        return null;
+    }
+
+    // Nombre del recurso a partir de la ruta (/jakarta.faces.resource/js/clientes.js.xhtml o /faces/...)
+    private static String nombreRecurso(ExternalContext externo) {
+        String prefijo = RESOURCE_IDENTIFIER + "/";
+        String info = externo.getRequestPathInfo();
+        if (info != null && info.startsWith(prefijo)) {
+            return info.substring(prefijo.length());
+        }
+        String ruta = externo.getRequestServletPath();
+        if (ruta == null || !ruta.startsWith(prefijo) || ruta.lastIndexOf('.') <= prefijo.length()) {
+            return null;
+        }
+        // Mapeo por extension: se quita la extension de FacesServlet (.xhtml)
+        return ruta.substring(prefijo.length(), ruta.lastIndexOf('.'));
+    }
+
+    private Contenido contenido(Resource recurso) {
+        String clave = recurso.getLibraryName() + ":" + recurso.getResourceName();
+        if (FacesContext.getCurrentInstance().isProjectStage(ProjectStage.Development)) {
+            return leer(recurso);
+        }
+        return contenidos.computeIfAbsent(clave, nueva -> leer(recurso));
+    }
+
+    private static Contenido leer(Resource recurso) {
+        try (InputStream entrada = recurso.getInputStream()) {
+            byte[] bytes = entrada.readNBytes(TAMANO_MAXIMO + 1);
+            if (bytes.length > TAMANO_MAXIMO) {
+                return null;
+            }
+            String tipo = recurso.getContentType() != null ? recurso.getContentType() : "application/octet-stream";
+            byte[] gzip = TIPOS_COMPRIMIBLES.contains(tipo) ? comprimir(bytes) : null;
+            return new Contenido(bytes, gzip != null && gzip.length < bytes.length ? gzip : null,
+                    huella(bytes), tipo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] comprimir(byte[] bytes) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(bytes.length / 3);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(salida)) {
+            gzip.write(bytes);
+        }
+        return salida.toByteArray();
+    }
+
+    private static String huella(byte[] bytes) {
+        try {
+            byte[] resumen = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return HexFormat.of().formatHex(resumen, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Recurso cuya URL incluye la huella de su contenido (si aun no lleva version)
+     */
+    private class RecursoVersionado extends ResourceWrapper {
+
+        RecursoVersionado(Resource recurso) {
+            super(recurso);
+        }
+
+        @Override
+        public String getRequestPath() {
+            String ruta = getWrapped().getRequestPath();
+            if (parametroVersion(ruta) != null) {
+                return ruta;
+            }
+            Contenido contenido = contenido(getWrapped());
+            if (contenido == null) {
+                return ruta;
+            }
+            return ruta + (ruta.contains("?") ? "&" : "?") + PARAMETRO_VERSION + "=" + contenido.huella();
+        }
+    }
+}
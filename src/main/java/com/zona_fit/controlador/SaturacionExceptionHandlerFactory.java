@@ -0,0 +1,79 @@
+package com.zona_fit.controlador;
+
+import com.zona_fit.resiliencia.ServicioSaturadoException;
+import jakarta.faces.application.FacesMessage;
+import jakarta.faces.context.ExceptionHandler;
+import jakarta.faces.context.ExceptionHandlerFactory;
+import jakarta.faces.context.ExceptionHandlerWrapper;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.event.ExceptionQueuedEvent;
+import jakarta.faces.event.PhaseId;
+import org.primefaces.PrimeFaces;
+
+import java.util.Iterator;
+
+/**
+ * Convierte los rechazos por saturacion (ServicioSaturadoException) en un mensaje amable
+ * en el growl de la pagina en lugar de una pagina de error
+ * Se registra en META-INF/faces-config.xml
+ */
+public class SaturacionExceptionHandlerFactory extends ExceptionHandlerFactory {
+
+    public SaturacionExceptionHandlerFactory(ExceptionHandlerFactory wrapped) {
+        super(wrapped);
+    }
+
+    @Override
+    public ExceptionHandler getExceptionHandler() {
+        return new SaturacionExceptionHandler(getWrapped().getExceptionHandler());
+    }
+
+    private static final String TITULO = "Sistema ocupado";
+    private static final String DETALLE = "Hay muchas solicitudes en este momento, intente de nuevo en unos segundos";
+
+    // Marca para avisar una sola vez por peticion aunque fallen el conteo y la pagina
+    private static final String ATRIBUTO_INFORMADO = SaturacionExceptionHandlerFactory.class.getName() + ".informado";
+
+    /**
+     * Informa la saturacion al usuario
+     * Antes de renderizar se agrega como mensaje JSF; durante el renderizado (tabla perezosa)
+     * el growl ya se genero, asi que se muestra con un script que PrimeFaces escribe al final
+     * de la respuesta, tanto en peticiones completas como AJAX
+     */
+    static void informarSaturacion(FacesContext contexto) {
+        if (contexto.getAttributes().putIfAbsent(ATRIBUTO_INFORMADO, Boolean.TRUE) != null) {
+            return;
+        }
+        if (contexto.getCurrentPhaseId() == PhaseId.RENDER_RESPONSE) {
+            PrimeFaces.current().executeScript("PF('mensajes').renderMessage({summary: '" + TITULO
+                    + "', detail: '" + DETALLE + "', severity: 'warn'});");
+        } else {
+            contexto.addMessage(null, new FacesMessage(FacesMessage.SEVERITY_WARN, TITULO, DETALLE));
+        }
+    }
+
+    private static class SaturacionExceptionHandler extends ExceptionHandlerWrapper {
+
+        SaturacionExceptionHandler(ExceptionHandler wrapped) {
+            super(wrapped);
+        }
+
+        @Override
+        public void handle() {
+            Iterator<ExceptionQueuedEvent> eventos = getUnhandledExceptionQueuedEvents().iterator();
+            while (eventos.hasNext()) {
+                Throwable error = eventos.next().getContext().getException();
+                while (error != null && !(error instanceof ServicioSaturadoException)) {
+                    error = error.getCause();
+                }
+                if (error != null) {
+                    eventos.remove();
+                    FacesContext contexto = FacesContext.getCurrentInstance();
+                    informarSaturacion(contexto);
+                    contexto.renderResponse();
+                }
+            }
+            getWrapped().handle();
+        }
+    }
+}
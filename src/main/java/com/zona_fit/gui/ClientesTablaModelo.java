@@ -0,0 +1,222 @@
+package com.zona_fit.gui;
+
+import com.zona_fit.modelo.Cliente;
+import com.zona_fit.modelo.ClienteResumen;
+import com.zona_fit.servicio.IClienteServicio;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Modelo de tabla paginado para la ventana Swing
+ * Solo mantiene en memoria las paginas que el usuario ha visto recientemente y las carga
+ * en segundo plano (SwingWorker) cuando la tabla pide una fila que aun no esta cargada,
+ * de modo que el hilo de eventos (EDT) nunca espera a la base de datos
+ * Las paginas contienen resumenes de solo lectura (ClienteResumen), no entidades JPA
+ */
+public class ClientesTablaModelo extends AbstractTableModel {
+
+    private static final String[] CABECEROS = {"ID", "Nombre", "Apellido", "Membresia"};
+    private static final Class<?>[] TIPOS = {Integer.class, String.class, String.class, Integer.class};
+
+    // Maximo de paginas conservadas en memoria
+    private static final int MAXIMO_PAGINAS = 20;
+
+    private final int tamanoPagina;
+    private IClienteServicio clienteServicio;
+    private int totalFilas;
+
+    // Paginas cargadas, la menos usada se descarta al superar el maximo
+    private final Map<Integer, List<ClienteResumen>> paginas = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<ClienteResumen>> masAntigua) {
+            return size() > MAXIMO_PAGINAS;
+        }
+    };
+    private final Set<Integer> paginasEnCarga = new HashSet<>();
+
+    public ClientesTablaModelo(int tamanoPagina) {
+        this.tamanoPagina = tamanoPagina;
+    }
+
+    public void setClienteServicio(IClienteServicio clienteServicio) {
+        this.clienteServicio = clienteServicio;
+    }
+
+    /**
+     * Vuelve a contar los clientes en segundo plano y descarta las paginas cargadas
+     */
+    public void recargar() {
+        new SwingWorker<Long, Void>() {
+            @Override
+            protected Long doInBackground() {
+                return clienteServicio.contarClientes(Map.of());
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    totalFilas = get().intValue();
+                    paginas.clear();
+                    fireTableDataChanged();
+                } catch (InterruptedException | ExecutionException e) {
+                    mostrarError(e);
+                }
+            }
+        }.execute();
+    }
+
+    @Override
+    public int getRowCount() {
+        return totalFilas;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return CABECEROS.length;
+    }
+
+    @Override
+    public String getColumnName(int columna) {
+        return CABECEROS[columna];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columna) {
+        return TIPOS[columna];
+    }
+
+    @Override
+    public Object getValueAt(int renglon, int columna) {
+        ClienteResumen cliente = getCliente(renglon);
+        if (cliente == null) {
+            return null; // Se muestra vacio hasta que llegue la pagina
+        }
+        return switch (columna) {
+            case 0 -> cliente.getId();
+            case 1 -> cliente.getNombre();
+            case 2 -> cliente.getApellido();
+            default -> cliente.getMembresia();
+        };
+    }
+
+    /**
+     * Cliente de un renglon, o null si su pagina aun se esta cargando
+     * @param renglon Indice del renglon en el modelo
+     * @return Cliente del renglon o null
+     */
+    public ClienteResumen getCliente(int renglon) {
+        int pagina = renglon / tamanoPagina;
+        List<ClienteResumen> clientes = paginas.get(pagina);
+        int posicion = renglon % tamanoPagina;
+        if (clientes == null || posicion >= clientes.size()) {
+            cargarPagina(pagina);
+            return null;
+        }
+        return clientes.get(posicion);
+    }
+
+    /**
+     * Agrega al final un cliente recien insertado (los ids nuevos son los mayores)
+     * @param cliente Cliente con su id ya asignado
+     */
+    public void agregarCliente(Cliente cliente) {
+        int renglon = totalFilas++;
+        List<ClienteResumen> ultima = paginas.get(renglon / tamanoPagina);
+        if (ultima != null && ultima.size() == renglon % tamanoPagina) {
+            ultima.add(ClienteResumen.de(cliente));
+        } else if (ultima != null) {
+            paginas.remove(renglon / tamanoPagina);
+        }
+        fireTableRowsInserted(renglon, renglon);
+    }
+
+    /**
+     * Reemplaza los datos de un cliente si su renglon esta cargado
+     * @param cliente Cliente actualizado
+     */
+    public void actualizarCliente(Cliente cliente) {
+        int renglon = indiceDe(cliente.getId());
+        if (renglon != -1) {
+            paginas.get(renglon / tamanoPagina).set(renglon % tamanoPagina, ClienteResumen.de(cliente));
+            fireTableRowsUpdated(renglon, renglon);
+        }
+    }
+
+    /**
+     * Quita el renglon de un cliente eliminado
+     * Las paginas posteriores se descartan porque sus renglones se desplazan uno hacia arriba
+     * @param idCliente Id del cliente eliminado
+     */
+    public void eliminarCliente(Integer idCliente) {
+        int renglon = indiceDe(idCliente);
+        if (renglon == -1) {
+            recargar();
+            return;
+        }
+        int pagina = renglon / tamanoPagina;
+        paginas.get(pagina).remove(renglon % tamanoPagina);
+        paginas.keySet().removeIf(numero -> numero > pagina);
+        totalFilas--;
+        fireTableRowsDeleted(renglon, renglon);
+    }
+
+    private int indiceDe(Integer idCliente) {
+        for (Map.Entry<Integer, List<ClienteResumen>> pagina : paginas.entrySet()) {
+            List<ClienteResumen> clientes = pagina.getValue();
+            for (int i = 0; i < clientes.size(); i++) {
+                if (clientes.get(i).getId().equals(idCliente)) {
+                    return pagina.getKey() * tamanoPagina + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private void cargarPagina(int pagina) {
+        if (clienteServicio == null || !paginasEnCarga.add(pagina)) {
+            return;
+        }
+        new SwingWorker<List<ClienteResumen>, Void>() {
+            @Override
+            protected List<ClienteResumen> doInBackground() {
+                return clienteServicio.listarResumenClientes(Map.of(),
+                        PageRequest.of(pagina, tamanoPagina, Sort.by("id")));
+            }
+
+            @Override
+            protected void done() {
+                paginasEnCarga.remove(pagina);
+                try {
+                    List<ClienteResumen> clientes = get();
+                    int primero = pagina * tamanoPagina;
+                    int ultimo = Math.min(primero + tamanoPagina, totalFilas) - 1;
+                    if (clientes.size() < ultimo - primero + 1) {
+                        // Otro usuario elimino clientes, el total quedo desactualizado
+                        recargar();
+                        return;
+                    }
+                    paginas.put(pagina, new ArrayList<>(clientes));
+                    if (primero <= ultimo) {
+                        fireTableRowsUpdated(primero, ultimo);
+                    }
+                } catch (InterruptedException | ExecutionException e) {
+                    mostrarError(e);
+                }
+            }
+        }.execute();
+    }
+
+    private static void mostrarError(Exception e) {
+        JOptionPane.showMessageDialog(null, "Error al cargar clientes: " + e.getMessage());
+    }
+}
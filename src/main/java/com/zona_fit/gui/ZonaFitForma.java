@@ -1,19 +1,23 @@
 package com.zona_fit.gui;
 
 import com.zona_fit.modelo.Cliente;
+import com.zona_fit.modelo.ClienteResumen;
+import com.zona_fit.servicio.ClienteModificadoException;
 import com.zona_fit.servicio.ClienteServicio;
 import com.zona_fit.servicio.IClienteServicio;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.util.concurrent.ExecutionException;
 
-//@Component
+@Component
+@Profile("escritorio") // Solo la crea ZonaFitSwing
 public class ZonaFitForma extends JFrame{
     private JPanel panelPrincipal;
     private JTable clientesTabla;
@@ -24,13 +28,18 @@ public class ZonaFitForma extends JFrame{
     private JButton eliminarButton;
     private JButton limpiarButton;
     IClienteServicio clienteServicio;
-    private DefaultTableModel tablaModeloClientes;
+    private ClientesTablaModelo tablaModeloClientes;
     private Integer idCliente;
+    // Version del cliente cargado en el formulario, para detectar cambios de otros usuarios
+    private Long versionCliente;
 
     @Autowired
     public ZonaFitForma(ClienteServicio clienteServicio){
         this.clienteServicio = clienteServicio;
         iniciarForma();
+        //Cargar listado de clientes en segundo plano
+        this.tablaModeloClientes.setClienteServicio(clienteServicio);
+        this.tablaModeloClientes.recargar();
         guardarButton.addActionListener(e -> guardarCliente());
         clientesTabla.addMouseListener(new MouseAdapter() {
             @Override
@@ -52,35 +61,11 @@ public class ZonaFitForma extends JFrame{
 
 
     private void createUIComponents() {
-        // TODO: place custom component creation code here
-        //this.tablaModeloClientes = new DefaultTableModel(0, 4);
-        this.tablaModeloClientes = new DefaultTableModel(0, 4){
-            @Override
-            public boolean isCellEditable(int row, int column){
-                return false;
-            }
-        };
-        String[] cabeceros = {"ID", "Nombre", "Apellido", "Membresia"};
-        this.tablaModeloClientes.setColumnIdentifiers(cabeceros);
+        // Modelo paginado: las filas se cargan fuera del EDT a medida que se desplaza la tabla
+        this.tablaModeloClientes = new ClientesTablaModelo(100);
         this.clientesTabla = new JTable(tablaModeloClientes);
         // Restringimos la seleccion de la tabla aa un solo registro
         this.clientesTabla.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
-        //Cargar listado de clientes
-        listarClientes();
-    }
-
-    private void listarClientes(){
-        this.tablaModeloClientes.setRowCount(0);
-        var clientes = this.clienteServicio.listarClientes();
-        clientes.forEach(cliente -> {
-            Object[] renglonCliente = {
-                    cliente.getId(),
-                    cliente.getNombre(),
-                    cliente.getApellido(),
-                    cliente.getMembresia()
-            };
-            this.tablaModeloClientes.addRow(renglonCliente);
-        });
     }
 
     private void guardarCliente(){
@@ -100,43 +85,118 @@ public class ZonaFitForma extends JFrame{
         var membresia = Integer.parseInt(membresiaTexto.getText());
         //Creamos el nuevo cliente
         var cliente = new Cliente(this.idCliente, nombre, apellido, membresia);
-        //Guardamos el cliente
-        this.clienteServicio.guardarCliente(cliente);// inserta / modificar en la base de datos
-        if (this.idCliente == null){
-            mostrarMensaje("Cliente guardado con exito");
-        }else {
-            mostrarMensaje("Se actualizo el Cliente");
-        }
+        cliente.setVersion(this.versionCliente);
+        var esNuevo = this.idCliente == null;
         limpiarFormulario();
-        listarClientes();
+        //Guardamos el cliente fuera del EDT y actualizamos solo su renglon
+        new SwingWorker<Boolean, Void>() {
+            @Override
+            protected Boolean doInBackground() {
+                return clienteServicio.guardarCliente(cliente);// inserta / modificar en la base de datos
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    boolean guardado = get();
+                    if (esNuevo){
+                        tablaModeloClientes.agregarCliente(cliente);
+                        mostrarMensaje("Cliente guardado con exito");
+                    }else if (guardado){
+                        tablaModeloClientes.actualizarCliente(cliente);
+                        mostrarMensaje("Se actualizo el Cliente");
+                    }else {
+                        tablaModeloClientes.eliminarCliente(cliente.getId());
+                        mostrarMensaje("El Cliente ya no existe");
+                    }
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof ClienteModificadoException) {
+                        recargarClienteModificado(cliente.getId());
+                    } else {
+                        mostrarMensaje("Error al guardar el Cliente: " + e.getMessage());
+                    }
+                } catch (InterruptedException e) {
+                    mostrarMensaje("Error al guardar el Cliente: " + e.getMessage());
+                }
+            }
+        }.execute();
+    }
+
+    // Otro usuario guardo el cliente antes: se vuelve a cargar en el formulario con sus datos
+    // actuales para revisar los cambios y guardar de nuevo
+    private void recargarClienteModificado(Integer id){
+        new SwingWorker<Cliente, Void>() {
+            @Override
+            protected Cliente doInBackground() {
+                return clienteServicio.buscarClienteActual(id);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    var actual = get();
+                    if (actual == null){
+                        tablaModeloClientes.eliminarCliente(id);
+                        mostrarMensaje("El Cliente ya no existe");
+                        return;
+                    }
+                    tablaModeloClientes.actualizarCliente(actual);
+                    mostrarEnFormulario(ClienteResumen.de(actual));
+                    mostrarMensaje("Otro usuario modifico el Cliente; revise sus datos actuales y guarde de nuevo");
+                } catch (InterruptedException | ExecutionException e) {
+                    mostrarMensaje("Error al recargar el Cliente: " + e.getMessage());
+                }
+            }
+        }.execute();
     }
 
     private void cargarClienteSeleccionado(){
         var renglon = clientesTabla.getSelectedRow();
         if (renglon != -1){// -1 significa que no selecciono ningun registro
-            String id = clientesTabla.getValueAt(renglon, 0).toString();
-            this.idCliente = Integer.parseInt(id);
-            var nombre = clientesTabla.getValueAt(renglon, 1).toString();
-            this.nombreTexto.setText(nombre);
-            var apellido = clientesTabla.getValueAt(renglon, 2).toString();
-            this.apellidoTexto.setText(apellido);
-            var membresia = clientesTabla.getValueAt(renglon, 3).toString();
-            this.membresiaTexto.setText(membresia);
-
+            var cliente = tablaModeloClientes.getCliente(renglon);
+            if (cliente == null){// Su pagina aun se esta cargando
+                return;
+            }
+            mostrarEnFormulario(cliente);
         }
     }
 
+    private void mostrarEnFormulario(ClienteResumen cliente){
+        this.idCliente = cliente.getId();
+        this.versionCliente = cliente.getVersion();
+        this.nombreTexto.setText(cliente.getNombre());
+        this.apellidoTexto.setText(cliente.getApellido());
+        this.membresiaTexto.setText(String.valueOf(cliente.getMembresia()));
+    }
+
     private void eliminarCliente(){
         var renglon = clientesTabla.getSelectedRow();
-        if (renglon != -1) {// -1 significa que no selecciono ningun registro
-            String id = clientesTabla.getValueAt(renglon, 0).toString();
-            this.idCliente = Integer.parseInt(id);
+        var seleccionado = renglon != -1 ? tablaModeloClientes.getCliente(renglon) : null;
+        if (seleccionado != null) {// -1 significa que no selecciono ningun registro
             var cliente = new Cliente();
-            cliente.setId(this.idCliente);
-            clienteServicio.eliminarClientePorId(cliente);
-            mostrarMensaje("Cliente eliminado");
+            cliente.setId(seleccionado.getId());
             limpiarFormulario();
-            listarClientes();
+            //Eliminamos fuera del EDT y quitamos solo su renglon
+            new SwingWorker<Boolean, Void>() {
+                @Override
+                protected Boolean doInBackground() {
+                    return clienteServicio.eliminarClientePorId(cliente);
+                }
+
+                @Override
+                protected void done() {
+                    try {
+                        // El renglon solo se quita si la baja se confirmo; si fallo el cliente sigue existiendo
+                        boolean eliminado = get();
+                        if (eliminado) {
+                            tablaModeloClientes.eliminarCliente(cliente.getId());
+                        }
+                        mostrarMensaje(eliminado ? "Cliente eliminado" : "El Cliente ya no existe");
+                    } catch (InterruptedException | ExecutionException e) {
+                        mostrarMensaje("Error al eliminar el Cliente: " + e.getMessage());
+                    }
+                }
+            }.execute();
         }else {
             mostrarMensaje("Selecciona un Cliente");
         }
@@ -150,8 +210,9 @@ public class ZonaFitForma extends JFrame{
         nombreTexto.setText("");
         apellidoTexto.setText("");
         membresiaTexto.setText("");
-        // Limpiamos id cliente seleccionado
+        // Limpiamos id y version del cliente seleccionado
         this.idCliente = null;
+        this.versionCliente = null;
         // Deseleccionamos el registro seleccionado de la tabla
         this.clientesTabla.getSelectionModel().clearSelection();
     }
@@ -0,0 +1,34 @@
+package com.zona_fit.modelo;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad que representa una entrada (asistencia) de un socio al gimnasio
+ * Mapea la tabla 'asistencia', particionada por mes (ver db/02_asistencia.sql)
+ * Las inserciones se hacen por lotes con JDBC desde AsistenciaServicio
+ */
+@Entity
+@Table(name = "asistencia", indexes = {
+        @Index(name = "idx_asistencia_cliente_fecha", columnList = "idCliente, fechaHora")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Asistencia {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Integer idCliente; // Cliente que entro (sin clave foranea, la tabla esta particionada)
+    private Integer membresia; // Membresia presentada en el acceso
+    private LocalDateTime fechaHora; // Momento de la entrada
+}
@@ -4,19 +4,30 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.*;
 
+import java.io.Serializable;
+import java.time.LocalDate;
+
 /**
  * Entidad que representa un cliente del gimnasio ZonaFit
  * Mapea la tabla 'cliente' en la base de datos
  */
 @Entity // Marca la clase como entidad JPA
+@Table(name = "cliente", indexes = { // Indices para la busqueda (ver db/01_indices_cliente.sql)
+        @Index(name = "idx_cliente_nombre", columnList = "nombre"),
+        @Index(name = "idx_cliente_apellido", columnList = "apellido"),
+        @Index(name = "idx_cliente_membresia", columnList = "membresia"),
+        @Index(name = "idx_cliente_fecha_alta", columnList = "fechaAlta"),
+        @Index(name = "idx_cliente_version", columnList = "version")
+})
 @Data // Genera getters, setters, toString, equals y hashCode automáticamente
 @NoArgsConstructor // Constructor sin parámetros requerido por JPA
-@AllArgsConstructor // Constructor con todos los parámetros
 @ToString // Genera método toString()
 @EqualsAndHashCode // Genera métodos equals() y hashCode()
-public class Cliente {
+public class Cliente implements Serializable {
     
     @Id // Marca el campo como clave primaria
     @GeneratedValue(strategy = GenerationType.IDENTITY) // Auto-incremento en BD
@@ -25,6 +36,18 @@ public class Cliente {
     private String nombre; // Nombre del cliente
     private String apellido; // Apellido del cliente
     private Integer membresia; // Número de membresía del cliente
+    private LocalDate fechaAlta; // Fecha de alta, la asigna el servicio al insertar
+    private Long version; // Version global del ultimo cambio (ETag y sincronizacion de la API REST)
+
+    /**
+     * Constructor con los datos editables del cliente
+     */
+    public Cliente(Integer id, String nombre, String apellido, Integer membresia) {
+        this.id = id;
+        this.nombre = nombre;
+        this.apellido = apellido;
+        this.membresia = membresia;
+    }
 
     /**
      * Constructor para crear cliente sin ID (para nuevos registros)
@@ -35,4 +58,16 @@ public class Cliente {
         this.apellido = apellido;
         this.membresia = membresia;
     }
+
+    /**
+     * Copia independiente del cliente
+     * Se usa para editar en formularios sin modificar instancias compartidas (por ejemplo en cache)
+     * @return Nuevo cliente con los mismos datos
+     */
+    public Cliente copia() {
+        Cliente copia = new Cliente(id, nombre, apellido, membresia);
+        copia.setFechaAlta(fechaAlta);
+        copia.setVersion(version);
+        return copia;
+    }
 }
\ No newline at end of file
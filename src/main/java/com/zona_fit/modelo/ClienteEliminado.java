@@ -0,0 +1,30 @@
+package com.zona_fit.modelo;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marca de un cliente eliminado con la version global de la eliminacion
+ * Permite que la sincronizacion por cambios de la API REST informe tambien las bajas
+ * Las filas se insertan por lotes con JDBC desde ClienteServicio (ver db/05_version_cliente.sql)
+ */
+@Entity
+@Table(name = "cliente_eliminado", indexes = {
+        @Index(name = "idx_cliente_eliminado_version", columnList = "version")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClienteEliminado {
+
+    @Id
+    private Integer idCliente; // Id del cliente eliminado (los ids no se reutilizan)
+
+    private Long version; // Version global asignada a la eliminacion
+    private LocalDateTime fechaHora; // Momento de la eliminacion
+}
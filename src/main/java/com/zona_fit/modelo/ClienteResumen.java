@@ -0,0 +1,41 @@
+package com.zona_fit.modelo;
+
+import java.io.Serializable;
+
+/**
+ * Vista de solo lectura de un cliente para las tablas (index.xhtml y ZonaFitForma)
+ * Se construye directamente en la consulta (select new ...), sin entidad administrada
+ * ni copia para dirty checking en el contexto de persistencia
+ */
+public record ClienteResumen(Integer id, String nombre, String apellido, Integer membresia, Long version)
+        implements Serializable {
+
+    /**
+     * Resumen de un cliente recien guardado, para actualizar una fila sin volver a consultar
+     */
+    public static ClienteResumen de(Cliente cliente) {
+        return new ClienteResumen(cliente.getId(), cliente.getNombre(), cliente.getApellido(),
+                cliente.getMembresia(), cliente.getVersion());
+    }
+
+    // Getters al estilo JavaBean: Jakarta EL 5 no resuelve los componentes de un record
+    public Integer getId() {
+        return id;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public String getApellido() {
+        return apellido;
+    }
+
+    public Integer getMembresia() {
+        return membresia;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+}
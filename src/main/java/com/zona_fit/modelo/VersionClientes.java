@@ -0,0 +1,32 @@
+package com.zona_fit.modelo;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Versiones globales de clientes: una fila por transaccion que escribe clientes
+ * La clave AUTO_INCREMENT da la version sin bloquear a otras transacciones; la fecha permite
+ * saber que versiones ya no pueden tener anteriores sin confirmar. Se usa con JDBC desde ClienteServicio
+ */
+@Entity
+@Table(name = "cliente_version", indexes = {
+        @Index(name = "idx_cliente_version_fecha", columnList = "fechaHora")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersionClientes {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long version; // Version asignada a la transaccion
+
+    private LocalDateTime fechaHora; // Momento en que se asigno (reloj de la base de datos)
+}
@@ -0,0 +1,95 @@
+package com.zona_fit.monitoreo;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Cuenta las sentencias SQL, las filas leidas y el tiempo en la base de datos del hilo actual
+ * Las mediciones se anidan: una sentencia cuenta en todas las mediciones abiertas del hilo
+ * Los datos los aporta DataSourceContador (solo con zonafit.sentencias.vigilar=true)
+ */
+public final class ContadorSentencias {
+
+    private static final ThreadLocal<Deque<Medicion>> MEDICIONES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private ContadorSentencias() {
+    }
+
+    /**
+     * Ejecuta una operacion y devuelve lo que hizo en la base de datos
+     */
+    public static Medicion medir(Runnable operacion) {
+        Medicion medicion = iniciar();
+        try {
+            operacion.run();
+        } finally {
+            terminar(medicion);
+        }
+        return medicion;
+    }
+
+    /**
+     * Abre una medicion en el hilo actual; debe cerrarse con terminar() en un bloque finally
+     */
+    public static Medicion iniciar() {
+        Medicion medicion = new Medicion();
+        MEDICIONES.get().push(medicion);
+        return medicion;
+    }
+
+    public static void terminar(Medicion medicion) {
+        Deque<Medicion> abiertas = MEDICIONES.get();
+        abiertas.remove(medicion);
+        if (abiertas.isEmpty()) {
+            MEDICIONES.remove();
+        }
+    }
+
+    static void registrarSentencia(long nanos) {
+        Deque<Medicion> abiertas = MEDICIONES.get();
+        if (abiertas.isEmpty()) {
+            MEDICIONES.remove();
+            return;
+        }
+        abiertas.forEach(medicion -> {
+            medicion.sentencias++;
+            medicion.nanos += nanos;
+        });
+    }
+
+    static void registrarFila() {
+        Deque<Medicion> abiertas = MEDICIONES.get();
+        if (abiertas.isEmpty()) {
+            MEDICIONES.remove();
+            return;
+        }
+        abiertas.forEach(medicion -> medicion.filas++);
+    }
+
+    /**
+     * Actividad en la base de datos durante una medicion
+     */
+    public static final class Medicion {
+
+        private int sentencias;
+        private long filas;
+        private long nanos;
+
+        public int getSentencias() {
+            return sentencias;
+        }
+
+        public long getFilas() {
+            return filas;
+        }
+
+        public long getMilisegundos() {
+            return nanos / 1_000_000;
+        }
+
+        @Override
+        public String toString() {
+            return sentencias + " sentencias, " + filas + " filas, " + getMilisegundos() + " ms";
+        }
+    }
+}
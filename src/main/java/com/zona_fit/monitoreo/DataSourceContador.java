@@ -0,0 +1,114 @@
+package com.zona_fit.monitoreo;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Envuelve el DataSource principal para contar sentencias, filas y tiempo (ContadorSentencias)
+ * Cuenta todo lo que llega al driver: JPA, consultas nativas y JdbcTemplate
+ * Un executeBatch cuenta como una sentencia (un viaje a la base de datos)
+ */
+@Component
+@ConditionalOnProperty(name = "zonafit.sentencias.vigilar", havingValue = "true")
+public class DataSourceContador implements BeanPostProcessor {
+
+    // Con el enrutamiento a replica hay varios DataSource; solo se envuelve el que usan JPA y JDBC
+    private static final String NOMBRE_DATASOURCE = "dataSource";
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String nombre) {
+        if (!(bean instanceof DataSource) || !NOMBRE_DATASOURCE.equals(nombre)) {
+            return bean;
+        }
+        // Proxy de la clase para conservar el tipo (p. ej. HikariDataSource para las metricas del pool)
+        ProxyFactory fabrica = new ProxyFactory(bean);
+        fabrica.setProxyTargetClass(true);
+        fabrica.addAdvice((MethodInterceptor) llamada -> {
+            Object resultado = llamada.proceed();
+            return resultado instanceof Connection conexion
+                    && "getConnection".equals(llamada.getMethod().getName())
+                    ? envolver(conexion, Connection.class, new ConexionContada(conexion)) : resultado;
+        });
+        return fabrica.getProxy();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T envolver(T objetivo, Class<T> tipo, InvocationHandler manejador) {
+        return (T) Proxy.newProxyInstance(DataSourceContador.class.getClassLoader(),
+                new Class<?>[]{tipo}, manejador);
+    }
+
+    private static Object invocar(Object objetivo, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(objetivo, argumentos);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private record ConexionContada(Connection conexion) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] argumentos) throws Throwable {
+            Object resultado = invocar(conexion, metodo, argumentos);
+            if (resultado instanceof CallableStatement sentencia) {
+                return envolver(sentencia, CallableStatement.class, new SentenciaContada(sentencia));
+            }
+            if (resultado instanceof PreparedStatement sentencia) {
+                return envolver(sentencia, PreparedStatement.class, new SentenciaContada(sentencia));
+            }
+            if (resultado instanceof Statement sentencia) {
+                return envolver(sentencia, Statement.class, new SentenciaContada(sentencia));
+            }
+            return resultado;
+        }
+    }
+
+    private record SentenciaContada(Statement sentencia) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] argumentos) throws Throwable {
+            if (!metodo.getName().startsWith("execute")) {
+                Object resultado = invocar(sentencia, metodo, argumentos);
+                return "getResultSet".equals(metodo.getName()) ? contarFilas(resultado) : resultado;
+            }
+            long inicio = System.nanoTime();
+            try {
+                return contarFilas(invocar(sentencia, metodo, argumentos));
+            } finally {
+                ContadorSentencias.registrarSentencia(System.nanoTime() - inicio);
+            }
+        }
+
+        private static Object contarFilas(Object resultado) {
+            return resultado instanceof ResultSet filas
+                    ? envolver(filas, ResultSet.class, new FilasContadas(filas)) : resultado;
+        }
+    }
+
+    private record FilasContadas(ResultSet filas) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] argumentos) throws Throwable {
+            Object resultado = invocar(filas, metodo, argumentos);
+            if ("next".equals(metodo.getName()) && Boolean.TRUE.equals(resultado)) {
+                ContadorSentencias.registrarFila();
+            }
+            return resultado;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.zona_fit.monitoreo;
+
+import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.HttpSessionEvent;
+import jakarta.servlet.http.HttpSessionListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registra las sesiones HTTP activas y estima cuanta memoria ocupa cada una
+ * El tamaño se aproxima serializando los atributos de la sesion (estado JSF y beans @ViewScoped)
+ * Los resultados se consultan en /actuator/sesiones
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class MedidorSesiones implements HttpSessionListener {
+
+    private final Map<String, HttpSession> sesiones = new ConcurrentHashMap<>();
+
+    @Override
+    public void sessionCreated(HttpSessionEvent evento) {
+        sesiones.put(evento.getSession().getId(), evento.getSession());
+    }
+
+    @Override
+    public void sessionDestroyed(HttpSessionEvent evento) {
+        sesiones.remove(evento.getSession().getId());
+    }
+
+    /**
+     * Mide todas las sesiones activas
+     * @return Tamaño estimado de cada sesion
+     */
+    public List<TamanoSesion> medir() {
+        List<TamanoSesion> medidas = new ArrayList<>();
+        for (HttpSession sesion : sesiones.values()) {
+            try {
+                medidas.add(medir(sesion));
+            } catch (IllegalStateException e) {
+                // La sesion se invalido mientras se media
+                sesiones.remove(sesion.getId());
+            }
+        }
+        return medidas;
+    }
+
+    private TamanoSesion medir(HttpSession sesion) {
+        long bytes = 0;
+        int atributos = 0;
+        List<String> noSerializables = new ArrayList<>();
+        for (String nombre : Collections.list(sesion.getAttributeNames())) {
+            atributos++;
+            try {
+                bytes += tamanoSerializado(sesion.getAttribute(nombre));
+            } catch (IOException e) {
+                noSerializables.add(nombre);
+            }
+        }
+        return new TamanoSesion(sesion.getId(), atributos, bytes, noSerializables);
+    }
+
+    private static long tamanoSerializado(Object valor) throws IOException {
+        ContadorBytes contador = new ContadorBytes();
+        try (ObjectOutputStream salida = new ObjectOutputStream(contador)) {
+            salida.writeObject(valor);
+        } catch (NotSerializableException e) {
+            throw new IOException(e);
+        }
+        return contador.bytes;
+    }
+
+    /**
+     * Tamaño estimado de una sesion
+     * @param id Id de la sesion
+     * @param atributos Numero de atributos
+     * @param bytes Bytes serializados de los atributos serializables
+     * @param noSerializables Atributos que no se pudieron medir
+     */
+    public record TamanoSesion(String id, int atributos, long bytes, List<String> noSerializables) {
+    }
+
+    // Flujo que solo cuenta los bytes escritos
+    private static final class ContadorBytes extends OutputStream {
+
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
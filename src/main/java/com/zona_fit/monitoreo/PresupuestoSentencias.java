@@ -0,0 +1,28 @@
+package com.zona_fit.monitoreo;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximo de sentencias SQL y filas leidas que se espera de una operacion de servicio
+ * Si se supera se registra una advertencia (PresupuestoSentenciasAspecto)
+ * Sin esta anotacion se aplican zonafit.sentencias.presupuesto y zonafit.sentencias.filas-maximas
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PresupuestoSentencias {
+
+    // Para operaciones cuyo costo crece con la entrada (importar, exportar)
+    int SIN_LIMITE = Integer.MAX_VALUE;
+
+    // Valor por omision de filas: usar zonafit.sentencias.filas-maximas
+    int FILAS_POR_OMISION = -1;
+
+    int sentencias();
+
+    int filas() default FILAS_POR_OMISION;
+}
@@ -0,0 +1,64 @@
+package com.zona_fit.monitoreo;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * Mide las sentencias SQL, filas y tiempo de cada llamada a los servicios (I*Servicio)
+ * y advierte cuando se supera su presupuesto (@PresupuestoSentencias), p. ej. por consultas N+1
+ * Se activa con zonafit.sentencias.vigilar=true (perfil dev y pruebas)
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "zonafit.sentencias.vigilar", havingValue = "true")
+@Order(Ordered.HIGHEST_PRECEDENCE + 1) // Dentro del limitador, fuera de la transaccion (incluye el commit)
+public class PresupuestoSentenciasAspecto {
+
+    private static final Logger logger = LoggerFactory.getLogger(PresupuestoSentenciasAspecto.class);
+
+    @Value("${zonafit.sentencias.presupuesto:5}")
+    private int presupuesto;
+
+    @Value("${zonafit.sentencias.filas-maximas:1000}")
+    private int filasMaximas;
+
+    @Around("execution(* com.zona_fit.servicio.I*Servicio.*(..))")
+    public Object medir(ProceedingJoinPoint llamada) throws Throwable {
+        ContadorSentencias.Medicion medicion = ContadorSentencias.iniciar();
+        try {
+            return llamada.proceed();
+        } finally {
+            ContadorSentencias.terminar(medicion);
+            revisar(llamada, medicion);
+        }
+    }
+
+    private void revisar(ProceedingJoinPoint llamada, ContadorSentencias.Medicion medicion) {
+        Method metodo = AopUtils.getMostSpecificMethod(((MethodSignature) llamada.getSignature()).getMethod(),
+                AopUtils.getTargetClass(llamada.getTarget()));
+        String operacion = metodo.getDeclaringClass().getSimpleName() + "." + metodo.getName();
+        PresupuestoSentencias limite = AnnotationUtils.findAnnotation(metodo, PresupuestoSentencias.class);
+        int maximoSentencias = limite != null ? limite.sentencias() : presupuesto;
+        int maximoFilas = limite != null && limite.filas() != PresupuestoSentencias.FILAS_POR_OMISION
+                ? limite.filas() : filasMaximas;
+        if (medicion.getSentencias() > maximoSentencias || medicion.getFilas() > maximoFilas) {
+            logger.warn("{} supero su presupuesto ({} sentencias, {} filas): {}", operacion,
+                    maximoSentencias, maximoFilas, medicion);
+        } else {
+            logger.debug("{}: {}", operacion, medicion);
+        }
+    }
+}
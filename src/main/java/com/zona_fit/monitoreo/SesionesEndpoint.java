@@ -0,0 +1,44 @@
+package com.zona_fit.monitoreo;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Endpoint /actuator/sesiones con el tamaño estimado de las sesiones activas
+ * Sirve para comparar la memoria por sesion antes y despues de cambios en las vistas
+ */
+@Component
+@Endpoint(id = "sesiones")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class SesionesEndpoint {
+
+    @Autowired
+    private MedidorSesiones medidorSesiones;
+
+    @ReadOperation
+    public ResumenSesiones sesiones() {
+        List<MedidorSesiones.TamanoSesion> medidas = medidorSesiones.medir().stream()
+                .sorted(Comparator.comparingLong(MedidorSesiones.TamanoSesion::bytes).reversed())
+                .toList();
+        long total = medidas.stream().mapToLong(MedidorSesiones.TamanoSesion::bytes).sum();
+        return new ResumenSesiones(medidas.size(), total,
+                medidas.isEmpty() ? 0 : total / medidas.size(), medidas);
+    }
+
+    /**
+     * Resumen de memoria de sesiones
+     * @param sesiones Numero de sesiones activas
+     * @param bytesTotales Suma de los tamaños estimados
+     * @param bytesPromedio Tamaño promedio por sesion
+     * @param detalle Tamaño de cada sesion, de mayor a menor
+     */
+    public record ResumenSesiones(int sesiones, long bytesTotales, long bytesPromedio,
+                                  List<MedidorSesiones.TamanoSesion> detalle) {
+    }
+}
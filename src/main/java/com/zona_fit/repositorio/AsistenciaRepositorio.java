@@ -0,0 +1,25 @@
+package com.zona_fit.repositorio;
+
+import com.zona_fit.modelo.Asistencia;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio de consultas de asistencias
+ * Las altas no pasan por aqui: se insertan por lotes en AsistenciaServicio
+ */
+public interface AsistenciaRepositorio extends JpaRepository<Asistencia, Long> {
+
+    /**
+     * Ultimas entradas de un cliente (usa el indice id_cliente, fecha_hora)
+     */
+    List<Asistencia> findByIdClienteOrderByFechaHoraDesc(Integer idCliente, Limit limite);
+
+    /**
+     * Entradas registradas desde un momento dado (solo recorre las particiones del rango)
+     */
+    long countByFechaHoraGreaterThanEqual(LocalDateTime desde);
+}
@@ -0,0 +1,26 @@
+package com.zona_fit.repositorio;
+
+import com.zona_fit.modelo.ClienteEliminado;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.stream.Stream;
+
+/**
+ * Repositorio de consultas de clientes eliminados
+ * Las altas no pasan por aqui: se insertan por lotes en ClienteServicio al eliminar clientes
+ */
+public interface ClienteEliminadoRepositorio extends JpaRepository<ClienteEliminado, Integer> {
+
+    /**
+     * Ids de los clientes eliminados despues de una version (usa el indice de version)
+     * Debe consumirse dentro de una transaccion de solo lectura y cerrarse al terminar
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select e.idCliente from ClienteEliminado e where e.version > :desde order by e.version")
+    Stream<Integer> streamEliminados(@Param("desde") long desde);
+}
@@ -0,0 +1,55 @@
+package com.zona_fit.repositorio;
+
+import com.zona_fit.modelo.Cliente;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Especificaciones JPA para filtrar clientes desde las tablas paginadas
+ * Los campos de texto se filtran por "contiene" y los numericos por igualdad
+ */
+public final class ClienteEspecificaciones {
+
+    private ClienteEspecificaciones() {
+    }
+
+    /**
+     * Construye una especificacion a partir de los filtros de la tabla
+     * Los campos desconocidos o con valor vacio se ignoran
+     * @param filtros Mapa campo -> valor del filtro
+     * @return Especificacion que combina todos los filtros con AND
+     */
+    public static Specification<Cliente> conFiltros(Map<String, Object> filtros) {
+        return (raiz, consulta, cb) -> {
+            List<Predicate> predicados = new ArrayList<>();
+            if (filtros != null) {
+                filtros.forEach((campo, valor) -> {
+                    if (valor == null || valor.toString().isBlank()) {
+                        return;
+                    }
+                    String texto = valor.toString().trim();
+                    switch (campo) {
+                        case "nombre", "apellido" -> predicados.add(
+                                cb.like(cb.lower(raiz.get(campo)), "%" + texto.toLowerCase() + "%"));
+                        case "id", "membresia" -> {
+                            // Un valor no numerico no puede coincidir con ningun registro
+                            try {
+                                predicados.add(cb.equal(raiz.get(campo), Integer.valueOf(texto)));
+                            } catch (NumberFormatException e) {
+                                predicados.add(cb.disjunction());
+                            }
+                        }
+                        default -> {
+                            // Campo no soportado, se ignora
+                        }
+                    }
+                });
+            }
+            return cb.and(predicados.toArray(new Predicate[0]));
+        };
+    }
+}
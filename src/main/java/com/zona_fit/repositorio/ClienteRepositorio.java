@@ -1,7 +1,22 @@
 package com.zona_fit.repositorio;
 
 import com.zona_fit.modelo.Cliente;
+import com.zona_fit.modelo.ClienteResumen;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repositorio para operaciones CRUD de la entidad Cliente
@@ -11,12 +26,143 @@ import org.springframework.data.jpa.repository.JpaRepository;
  * - save(): guardar/actualizar cliente
  * - delete(): eliminar cliente
  * - count(): contar registros
+ * Extiende JpaSpecificationExecutor para consultas paginadas con filtros:
+ * - findAll(Specification, Pageable): pagina filtrada y ordenada
+ * - count(Specification): total de registros que cumplen el filtro
  */
-public interface ClienteRepositorio extends JpaRepository<Cliente, Integer> {
+public interface ClienteRepositorio extends JpaRepository<Cliente, Integer>,
+        JpaSpecificationExecutor<Cliente> {
     // JpaRepository<Cliente, Integer> significa:
     // - Cliente: tipo de entidad que maneja
     // - Integer: tipo de dato de la clave primaria (id)
-    
+
     // No necesita implementación, Spring Data JPA la genera automáticamente
     // Se pueden agregar métodos personalizados si es necesario
-}
\ No newline at end of file
+
+    /**
+     * Paginacion por clave (keyset): clientes con id mayor al indicado, en orden de id
+     * Usa el indice de la clave primaria, su costo no crece con la profundidad de la pagina
+     * @param idCliente Ultimo id ya leido
+     * @param limite Numero maximo de clientes a devolver
+     * @return Siguientes clientes ordenados por id
+     */
+    List<Cliente> findByIdGreaterThanOrderByIdAsc(Integer idCliente, Limit limite);
+
+    /**
+     * Recorre todos los clientes con un cursor de solo avance
+     * Debe consumirse dentro de una transaccion de solo lectura y cerrarse al terminar
+     * @return Stream de clientes ordenados por id
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false"),
+            // Recorrer millones de filas supera el tiempo maximo general de las consultas (segundos)
+            @QueryHint(name = HibernateHints.HINT_TIMEOUT, value = "600")
+    })
+    @Query("select c from Cliente c order by c.id")
+    Stream<Cliente> streamClientes();
+
+    /**
+     * Recorre con un cursor los clientes cambiados despues de una version (sincronizacion de la API)
+     * Debe consumirse dentro de una transaccion de solo lectura y cerrarse al terminar
+     * @param desde Version ya conocida por el cliente de la API (excluida)
+     * @return Stream de clientes ordenados por version
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_TIMEOUT, value = "600")
+    })
+    @Query("select c from Cliente c where c.version > :desde order by c.version")
+    Stream<Cliente> streamCambios(@Param("desde") long desde);
+
+    /**
+     * Actualiza un cliente con un solo UPDATE, sin leerlo antes (a diferencia de save/merge)
+     * Con versionEsperada solo actualiza si nadie lo cambio desde que se leyo (concurrencia optimista)
+     * @param version Nueva version del cliente
+     * @param versionEsperada Version leida por quien edita; null actualiza sin comprobarla
+     * @return Numero de filas afectadas (0 si el cliente no existe o su version cambio)
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Cliente c set c.nombre = :nombre, c.apellido = :apellido, "
+            + "c.membresia = :membresia, c.version = :version where c.id = :id "
+            + "and (:versionEsperada is null or c.version = :versionEsperada)")
+    int actualizarCliente(@Param("id") Integer id, @Param("nombre") String nombre,
+                          @Param("apellido") String apellido, @Param("membresia") Integer membresia,
+                          @Param("version") Long version, @Param("versionEsperada") Long versionEsperada);
+
+    /**
+     * Elimina un cliente con un solo DELETE, sin leerlo antes (a diferencia de delete(entidad))
+     * @return Numero de filas afectadas (0 si el cliente no existe)
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Cliente c where c.id = :id")
+    int eliminarPorId(@Param("id") Integer id);
+
+    /**
+     * Elimina varios clientes con un solo DELETE ... WHERE id IN (...)
+     * @return Numero de filas afectadas
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Cliente c where c.id in :ids")
+    int eliminarPorIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Busca clientes cuyo nombre o apellido empieza con el prefijo (usa los indices de nombre y apellido)
+     * @param prefijo Prefijo ya escapado y terminado en '%'
+     * @param limite Numero maximo de resultados
+     * @return Clientes ordenados por nombre y apellido
+     */
+    @Query("select c from Cliente c where c.nombre like :prefijo escape '!' "
+            + "or c.apellido like :prefijo escape '!' order by c.nombre, c.apellido")
+    List<Cliente> buscarPorPrefijo(@Param("prefijo") String prefijo, Limit limite);
+
+    /**
+     * Busca clientes que contienen el texto en nombre o apellido
+     * Usa el indice FULLTEXT con parser ngram de MySQL (ver db/01_indices_cliente.sql)
+     * @param texto Consulta en modo booleano de MySQL
+     * @param limite Numero maximo de resultados
+     * @return Clientes que coinciden
+     */
+    @Query(value = "select * from cliente where match(nombre, apellido) against (:texto in boolean mode) "
+            + "limit :limite", nativeQuery = true)
+    List<Cliente> buscarPorContenido(@Param("texto") String texto, @Param("limite") int limite);
+
+    /**
+     * Busca clientes por numero de membresia exacto (usa el indice de membresia)
+     */
+    List<Cliente> findByMembresia(Integer membresia, Limit limite);
+
+    /**
+     * Pagina de resumenes de clientes para las tablas, con los mismos filtros que
+     * ClienteEspecificaciones (null = sin filtro)
+     * Devuelve records en lugar de entidades y no fuerza el flush previo del contexto
+     * @param nombre Patron LIKE en minusculas (p. ej. "%ana%")
+     * @param apellido Patron LIKE en minusculas
+     * @param pageable Pagina y orden (sin consulta de conteo)
+     * @return Resumenes de la pagina solicitada
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("select new com.zona_fit.modelo.ClienteResumen(c.id, c.nombre, c.apellido, c.membresia, "
+            + "c.version) from Cliente c where (:id is null or c.id = :id) "
+            + "and (:nombre is null or lower(c.nombre) like :nombre) "
+            + "and (:apellido is null or lower(c.apellido) like :apellido) "
+            + "and (:membresia is null or c.membresia = :membresia)")
+    List<ClienteResumen> listarResumen(@Param("id") Integer id, @Param("nombre") String nombre,
+                                       @Param("apellido") String apellido,
+                                       @Param("membresia") Integer membresia, Pageable pageable);
+
+    /**
+     * Datos de los clientes indicados para registrar su baja (lectura por clave primaria):
+     * [id, membresia, fechaAlta]
+     */
+    @Query("select c.id, c.membresia, c.fechaAlta from Cliente c where c.id in :ids")
+    List<Object[]> buscarDatosBaja(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Altas por dia desde una fecha (usa el indice de fecha_alta): [fecha, total]
+     */
+    @Query("select c.fechaAlta, count(c) from Cliente c where c.fechaAlta >= :desde group by c.fechaAlta")
+    List<Object[]> contarAltasDesde(@Param("desde") LocalDate desde);
+}
@@ -0,0 +1,111 @@
+package com.zona_fit.resiliencia;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limite de concurrencia adaptativo (AIMD) para una operacion
+ * Cada llamada rapida sube el limite poco a poco (+1 por cada "limite" llamadas);
+ * una llamada lenta o fallida por tiempo lo reduce un 25 %, como maximo una vez por intervalo
+ * Las llamadas que exceden el limite esperan en una cola acotada y despues se rechazan
+ */
+public class LimitadorAdaptativo {
+
+    private static final double FACTOR_REDUCCION = 0.75;
+
+    private final int minimo;
+    private final int maximo;
+    private final long latenciaObjetivoNanos;
+    private final int colaMaxima;
+
+    private final ReentrantLock candado = new ReentrantLock();
+    private final Condition liberado = candado.newCondition();
+    private double limite;
+    private int enCurso;
+    private int enEspera;
+    private long ultimaReduccion = System.nanoTime();
+
+    public LimitadorAdaptativo(int inicial, int minimo, int maximo, long latenciaObjetivoMs, int colaMaxima) {
+        this.limite = inicial;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.latenciaObjetivoNanos = TimeUnit.MILLISECONDS.toNanos(latenciaObjetivoMs);
+        this.colaMaxima = colaMaxima;
+    }
+
+    /**
+     * Ocupa un lugar, esperando como maximo el tiempo indicado si el limite esta alcanzado
+     * @return true si se obtuvo el lugar, false si la cola estaba llena o se agoto la espera
+     */
+    public boolean adquirir(long esperaMaximaMs) throws InterruptedException {
+        candado.lock();
+        try {
+            if (enCurso < (int) limite) {
+                enCurso++;
+                return true;
+            }
+            if (enEspera >= colaMaxima) {
+                return false;
+            }
+            enEspera++;
+            try {
+                long restante = TimeUnit.MILLISECONDS.toNanos(esperaMaximaMs);
+                while (enCurso >= (int) limite) {
+                    if (restante <= 0) {
+                        return false;
+                    }
+                    restante = liberado.awaitNanos(restante);
+                }
+                enCurso++;
+                return true;
+            } finally {
+                enEspera--;
+            }
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Libera el lugar y ajusta el limite segun la latencia observada
+     * @param latenciaNanos Duracion de la llamada
+     * @param sobrecarga true si la llamada fallo por tiempo de espera o por falta de conexiones
+     */
+    public void liberar(long latenciaNanos, boolean sobrecarga) {
+        candado.lock();
+        try {
+            enCurso--;
+            long ahora = System.nanoTime();
+            if (sobrecarga || latenciaNanos > latenciaObjetivoNanos) {
+                if (ahora - ultimaReduccion > latenciaObjetivoNanos) {
+                    limite = Math.max(minimo, limite * FACTOR_REDUCCION);
+                    ultimaReduccion = ahora;
+                }
+            } else {
+                limite = Math.min(maximo, limite + 1.0 / limite);
+            }
+            liberado.signal();
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    public int getLimite() {
+        candado.lock();
+        try {
+            return (int) limite;
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    public int getEnCurso() {
+        candado.lock();
+        try {
+            return enCurso;
+        } finally {
+            candado.unlock();
+        }
+    }
+}
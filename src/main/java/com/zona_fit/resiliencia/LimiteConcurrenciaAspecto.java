@@ -0,0 +1,95 @@
+package com.zona_fit.resiliencia;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compartimento (bulkhead) por operacion de IClienteServicio
+ * Si MySQL se vuelve lento, cada operacion solo ocupa hasta su limite de hilos; el resto espera
+ * un tiempo acotado y despues se rechaza con ServicioSaturadoException, en lugar de bloquear
+ * todos los hilos de Tomcat. Los limites se adaptan a la latencia observada (LimitadorAdaptativo)
+ * Las operaciones masivas (importar, exportar) no se limitan: son largas por naturaleza
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE) // Fuera de la transaccion: no se abre una si se va a rechazar
+public class LimiteConcurrenciaAspecto {
+
+    private static final Logger logger = LoggerFactory.getLogger(LimiteConcurrenciaAspecto.class);
+
+    @Autowired
+    private MeterRegistry registro;
+
+    @Value("${zonafit.limite.inicial:20}")
+    private int inicial;
+
+    @Value("${zonafit.limite.minimo:2}")
+    private int minimo;
+
+    @Value("${zonafit.limite.maximo:100}")
+    private int maximo;
+
+    @Value("${zonafit.limite.latencia-objetivo-ms:500}")
+    private long latenciaObjetivoMs;
+
+    @Value("${zonafit.limite.cola-maxima:50}")
+    private int colaMaxima;
+
+    @Value("${zonafit.limite.espera-maxima-ms:1000}")
+    private long esperaMaximaMs;
+
+    private final Map<String, LimitadorAdaptativo> limitadores = new ConcurrentHashMap<>();
+
+    @Around("execution(* com.zona_fit.servicio.IClienteServicio.*(..)) "
+            + "&& !execution(* com.zona_fit.servicio.IClienteServicio.exportarClientes(..)) "
+            + "&& !execution(* com.zona_fit.servicio.IClienteServicio.exportarCambios(..)) "
+            + "&& !execution(* com.zona_fit.servicio.IClienteServicio.guardarClientes(..))")
+    public Object limitar(ProceedingJoinPoint llamada) throws Throwable {
+        String operacion = llamada.getSignature().getName();
+        LimitadorAdaptativo limitador = limitadores.computeIfAbsent(operacion, this::crearLimitador);
+        if (!limitador.adquirir(esperaMaximaMs)) {
+            registro.counter("zonafit.limite.rechazos", "operacion", operacion).increment();
+            logger.warn("Rechazada {}: limite {} alcanzado", operacion, limitador.getLimite());
+            throw new ServicioSaturadoException(operacion);
+        }
+        long inicio = System.nanoTime();
+        boolean sobrecarga = false;
+        try {
+            return llamada.proceed();
+        } catch (QueryTimeoutException | TransactionTimedOutException | DataAccessResourceFailureException
+                 | CannotCreateTransactionException e) {
+            // CannotCreateTransactionException: pool de conexiones agotado al iniciar la transaccion
+            sobrecarga = true;
+            throw e;
+        } finally {
+            limitador.liberar(System.nanoTime() - inicio, sobrecarga);
+        }
+    }
+
+    private LimitadorAdaptativo crearLimitador(String operacion) {
+        LimitadorAdaptativo limitador = new LimitadorAdaptativo(inicial, minimo, maximo,
+                latenciaObjetivoMs, colaMaxima);
+        Gauge.builder("zonafit.limite.actual", limitador, LimitadorAdaptativo::getLimite)
+                .tag("operacion", operacion).register(registro);
+        Gauge.builder("zonafit.limite.en.curso", limitador, LimitadorAdaptativo::getEnCurso)
+                .tag("operacion", operacion).register(registro);
+        return limitador;
+    }
+}
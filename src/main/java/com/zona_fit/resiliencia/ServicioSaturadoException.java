@@ -0,0 +1,12 @@
+package com.zona_fit.resiliencia;
+
+/**
+ * Se lanza cuando una operacion se rechaza porque la base de datos no da abasto
+ * (limite de concurrencia alcanzado y cola de espera llena o agotada)
+ */
+public class ServicioSaturadoException extends RuntimeException {
+
+    public ServicioSaturadoException(String operacion) {
+        super("Operacion rechazada por saturacion: " + operacion);
+    }
+}
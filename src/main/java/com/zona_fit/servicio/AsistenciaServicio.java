@@ -0,0 +1,189 @@
+package com.zona_fit.servicio;
+
+import com.zona_fit.modelo.Asistencia;
+import com.zona_fit.repositorio.AsistenciaRepositorio;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registro de entradas de alta concurrencia
+ * Cada acceso solo valida la membresia (en cache) y encola la entrada en memoria;
+ * un hilo escritor vacia la cola en lotes de hasta zonafit.asistencias.tamano-lote filas,
+ * una transaccion por lote en lugar de una por acceso
+ * Con poco trafico los lotes son pequeños y salen enseguida; en hora pico crecen solos
+ */
+@Service
+public class AsistenciaServicio implements IAsistenciaServicio, SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsistenciaServicio.class);
+
+    private static final String INSERTAR_ASISTENCIA =
+            "insert into asistencia (id_cliente, membresia, fecha_hora) values (?, ?, ?)";
+
+    // Tiempo maximo que el escritor espera una entrada antes de revisar si debe detenerse
+    private static final long ESPERA_COLA_MS = 100;
+    private static final int INTENTOS_LOTE = 3;
+
+    @Autowired
+    private IClienteServicio clienteServicio;
+
+    @Autowired
+    private AsistenciaRepositorio asistenciaRepositorio;
+
+    @Autowired // Inserciones por lotes
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry registro;
+
+    @Value("${zonafit.asistencias.capacidad-cola:100000}")
+    private int capacidadCola;
+
+    @Value("${zonafit.asistencias.tamano-lote:1000}")
+    private int tamanoLote;
+
+    private BlockingQueue<Asistencia> cola;
+    private final Map<ResultadoEntrada, Counter> entradas = new EnumMap<>(ResultadoEntrada.class);
+    private Counter descartadas;
+    private Timer tiempoLote;
+    private Thread escritor;
+    private volatile boolean activo;
+
+    @PostConstruct
+    public void iniciar() {
+        cola = new ArrayBlockingQueue<>(capacidadCola);
+        for (ResultadoEntrada resultado : ResultadoEntrada.values()) {
+            entradas.put(resultado, Counter.builder("zonafit.asistencias.entradas")
+                    .tag("resultado", resultado.name()).register(registro));
+        }
+        descartadas = Counter.builder("zonafit.asistencias.descartadas")
+                .description("Entradas perdidas tras fallar la escritura del lote").register(registro);
+        tiempoLote = Timer.builder("zonafit.asistencias.lote").register(registro);
+        registro.gauge("zonafit.asistencias.pendientes", cola, BlockingQueue::size);
+        // 1 mientras el hilo escritor esta vivo; si cae a 0 la cola se llena y las entradas se rechazan
+        Gauge.builder("zonafit.asistencias.escritor.activo", this,
+                servicio -> servicio.escritor != null && servicio.escritor.isAlive() ? 1 : 0).register(registro);
+    }
+
+    @Override
+    public ResultadoEntrada registrarEntrada(Integer membresia) {
+        Integer idCliente = membresia == null ? null : clienteServicio.buscarIdClientePorMembresia(membresia);
+        ResultadoEntrada resultado;
+        if (idCliente == null) {
+            resultado = ResultadoEntrada.MEMBRESIA_INVALIDA;
+        } else if (cola.offer(new Asistencia(null, idCliente, membresia, LocalDateTime.now()))) {
+            resultado = ResultadoEntrada.REGISTRADA;
+        } else {
+            resultado = ResultadoEntrada.SATURADO;
+        }
+        entradas.get(resultado).increment();
+        return resultado;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Asistencia> ultimasAsistencias(Integer idCliente, int limite) {
+        return asistenciaRepositorio.findByIdClienteOrderByFechaHoraDesc(idCliente, Limit.of(limite));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long contarAsistenciasDesde(LocalDateTime desde) {
+        return asistenciaRepositorio.countByFechaHoraGreaterThanEqual(desde);
+    }
+
+    // Bucle del hilo escritor: al detenerse termina de vaciar la cola
+    private void escribirLotes() {
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        List<Asistencia> lote = new ArrayList<>(tamanoLote);
+        while (activo || !cola.isEmpty()) {
+            try {
+                Asistencia primera = cola.poll(ESPERA_COLA_MS, TimeUnit.MILLISECONDS);
+                if (primera == null) {
+                    continue;
+                }
+                lote.add(primera);
+                cola.drainTo(lote, tamanoLote - 1);
+                insertarLote(transaccion, lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    private void insertarLote(TransactionTemplate transaccion, List<Asistencia> lote)
+            throws InterruptedException {
+        for (int intento = 1; intento <= INTENTOS_LOTE; intento++) {
+            try {
+                tiempoLote.record(() -> transaccion.executeWithoutResult(estado ->
+                        jdbcTemplate.batchUpdate(INSERTAR_ASISTENCIA, lote, lote.size(), (ps, asistencia) -> {
+                            ps.setInt(1, asistencia.getIdCliente());
+                            ps.setInt(2, asistencia.getMembresia());
+                            ps.setObject(3, asistencia.getFechaHora());
+                        })));
+                return;
+            } catch (RuntimeException e) {
+                // No solo DataAccessException: p. ej. CannotCreateTransactionException con el pool agotado;
+                // ningun error debe terminar el hilo escritor
+                logger.warn("Error al escribir {} asistencias (intento {}): {}", lote.size(), intento,
+                        e.toString());
+                TimeUnit.MILLISECONDS.sleep(500L * intento);
+            }
+        }
+        logger.error("Se descartan {} asistencias tras {} intentos", lote.size(), INTENTOS_LOTE);
+        descartadas.increment(lote.size());
+    }
+
+    @Override
+    public void start() {
+        activo = true;
+        escritor = Thread.ofPlatform().name("asistencias-escritor").start(this::escribirLotes);
+    }
+
+    @Override
+    public void stop() {
+        activo = false;
+        try {
+            escritor.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!cola.isEmpty()) {
+            logger.warn("Quedaron {} asistencias sin escribir al detener la aplicacion", cola.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return activo;
+    }
+}
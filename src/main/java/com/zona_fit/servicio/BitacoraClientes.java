@@ -0,0 +1,316 @@
+package com.zona_fit.servicio;
+
+import com.zona_fit.modelo.Cliente;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bitacora de auditoria de altas, cambios y bajas de clientes en un archivo local de solo agregado
+ * El hilo de la peticion solo encola la entrada despues del commit; un hilo escritor vacia la cola
+ * en lotes y escribe cada lote con un solo flush, como el registro de entradas (AsistenciaServicio)
+ * El archivo rota al cambiar el dia o al superar zonafit.bitacora.tamano-maximo y se conservan
+ * los ultimos zonafit.bitacora.archivos-maximos archivos rotados
+ * Formato CSV: fecha_hora,tipo,id,version,nombre,apellido,membresia,membresia_anterior,registros
+ * Las importaciones (y las altas del modo script) se anotan con una linea CREADO por cliente,
+ * con el id generado, y una linea IMPORTADOS con el total; cada lote importado ocupa un solo lugar
+ * en la cola y el escritor lo expande, asi el hilo que importa tampoco espera
+ */
+@Component
+@ConditionalOnProperty(name = "zonafit.bitacora.habilitada", havingValue = "true", matchIfMissing = true)
+public class BitacoraClientes implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(BitacoraClientes.class);
+
+    private static final long ESPERA_COLA_MS = 100;
+    private static final int TAMANO_LOTE = 1000;
+
+    @Autowired
+    private MeterRegistry registro;
+
+    @Value("${zonafit.bitacora.archivo:logs/bitacora-clientes.csv}")
+    private Path archivo;
+
+    @Value("${zonafit.bitacora.capacidad-cola:100000}")
+    private int capacidadCola;
+
+    @Value("${zonafit.bitacora.tamano-maximo:10MB}")
+    private DataSize tamanoMaximo;
+
+    @Value("${zonafit.bitacora.archivos-maximos:30}")
+    private int archivosMaximos;
+
+    // Entrada de la bitacora, con los datos ya copiados del evento
+    // Las altas de un lote importado van juntas en altas (una linea CREADO por cliente)
+    private record Entrada(LocalDateTime fechaHora, String tipo, Integer id, Long version, String nombre,
+                           String apellido, Integer membresia, Integer membresiaAnterior, Integer registros,
+                           List<Cliente> altas) {
+
+        int lineas() {
+            return altas == null ? 1 : altas.size();
+        }
+    }
+
+    private BlockingQueue<Entrada> cola;
+    private Counter descartadas;
+    private Thread escritor;
+    private volatile boolean activo;
+
+    // Solo los usa el hilo escritor
+    private OutputStream salida;
+    private LocalDate fechaArchivo;
+    private long bytesArchivo;
+
+    @PostConstruct
+    public void iniciar() {
+        cola = new ArrayBlockingQueue<>(capacidadCola);
+        descartadas = Counter.builder("zonafit.bitacora.descartadas")
+                .description("Entradas de la bitacora perdidas por cola llena o error de escritura")
+                .register(registro);
+        registro.gauge("zonafit.bitacora.pendientes", cola, BlockingQueue::size);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiarCliente(ClienteEvento evento) {
+        // Los cambios de otros nodos ya estan en la bitacora del nodo que los hizo
+        if (BusCambiosClientes.reproduciendo()) {
+            return;
+        }
+        Cliente cliente = evento.cliente();
+        encolar(new Entrada(LocalDateTime.now(), evento.tipo().name(), cliente.getId(), cliente.getVersion(),
+                cliente.getNombre(), cliente.getApellido(), cliente.getMembresia(),
+                evento.membresiaAnterior(), null, null));
+    }
+
+    /**
+     * Se ejecuta al confirmar cada lote de una importacion, en el hilo que importa
+     * (la peticion HTTP al subir un CSV): encola el lote completo sin esperar
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alInsertarClientes(ClientesInsertadosEvento evento) {
+        encolar(new Entrada(LocalDateTime.now(), ClienteEvento.Tipo.CREADO.name(), null, null, null, null,
+                null, null, null, evento.clientes()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alImportarClientes(ClientesImportadosEvento evento) {
+        if (BusCambiosClientes.reproduciendo()) {
+            return;
+        }
+        encolar(new Entrada(LocalDateTime.now(), "IMPORTADOS", null, null, null, null, null, null,
+                evento.registros(), null));
+    }
+
+    // Nunca bloquea la peticion: con la cola llena la entrada se descarta y se cuenta
+    private void encolar(Entrada entrada) {
+        if (!cola.offer(entrada)) {
+            descartadas.increment(entrada.lineas());
+        }
+    }
+
+    // Bucle del hilo escritor: al detenerse termina de vaciar la cola
+    private void escribirLotes() {
+        List<Entrada> lote = new ArrayList<>(TAMANO_LOTE);
+        while (activo || !cola.isEmpty()) {
+            try {
+                Entrada primera = cola.poll(ESPERA_COLA_MS, TimeUnit.MILLISECONDS);
+                if (primera == null) {
+                    continue;
+                }
+                lote.add(primera);
+                cola.drainTo(lote, TAMANO_LOTE - 1);
+                escribirLote(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lote.clear();
+            }
+        }
+        cerrar();
+    }
+
+    private void escribirLote(List<Entrada> lote) {
+        try {
+            StringBuilder texto = new StringBuilder(lote.size() * 96);
+            for (Entrada entrada : lote) {
+                aCsv(entrada, texto);
+            }
+            byte[] bytes = texto.toString().getBytes(StandardCharsets.UTF_8);
+            rotarSiHaceFalta(bytes.length);
+            salida.write(bytes);
+            bytesArchivo += bytes.length;
+        } catch (IOException | RuntimeException e) {
+            // Tambien errores no comprobados (p. ej. DirectoryIteratorException al depurar los rotados):
+            // ninguno debe terminar el hilo escritor
+            int lineas = lote.stream().mapToInt(Entrada::lineas).sum();
+            logger.warn("Error al escribir {} entradas en la bitacora {}: {}", lineas, archivo, e.toString());
+            descartadas.increment(lineas);
+            cerrar(); // Se vuelve a abrir con el siguiente lote
+        }
+    }
+
+    // Abre el archivo si hace falta y lo rota al cambiar el dia o al superar el tamaño maximo
+    private void rotarSiHaceFalta(int bytesLote) throws IOException {
+        LocalDate hoy = LocalDate.now();
+        if (salida == null) {
+            Files.createDirectories(archivo.toAbsolutePath().getParent());
+            fechaArchivo = Files.exists(archivo)
+                    ? LocalDate.ofInstant(Files.getLastModifiedTime(archivo).toInstant(), ZoneId.systemDefault())
+                    : hoy;
+            bytesArchivo = Files.exists(archivo) ? Files.size(archivo) : 0;
+        }
+        boolean rotar = bytesArchivo > 0
+                && (!hoy.equals(fechaArchivo) || bytesArchivo + bytesLote > tamanoMaximo.toBytes());
+        if (rotar) {
+            cerrar();
+            Files.move(archivo, archivoRotado(fechaArchivo));
+            depurarRotados();
+            bytesArchivo = 0;
+        }
+        if (salida == null) {
+            // Sin buffer propio: cada lote ya llega como un solo bloque de bytes
+            salida = Files.newOutputStream(archivo, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            fechaArchivo = hoy;
+        }
+    }
+
+    // bitacora-clientes.csv -> bitacora-clientes-2024-05-01.1.csv, .2.csv, ...
+    private Path archivoRotado(LocalDate fecha) {
+        String nombre = archivo.getFileName().toString();
+        int punto = nombre.lastIndexOf('.');
+        String base = punto == -1 ? nombre : nombre.substring(0, punto);
+        String extension = punto == -1 ? "" : nombre.substring(punto);
+        Path rotado;
+        int numero = 0;
+        do {
+            numero++;
+            rotado = archivo.resolveSibling(base + "-" + fecha + "." + numero + extension);
+        } while (Files.exists(rotado));
+        return rotado;
+    }
+
+    private void depurarRotados() throws IOException {
+        String nombre = archivo.getFileName().toString();
+        int punto = nombre.lastIndexOf('.');
+        String patron = (punto == -1 ? nombre : nombre.substring(0, punto)) + "-*";
+        List<Path> rotados = new ArrayList<>();
+        Path directorio = archivo.toAbsolutePath().getParent();
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorio, patron)) {
+            archivos.forEach(rotados::add);
+        }
+        if (rotados.size() <= archivosMaximos) {
+            return;
+        }
+        rotados.sort(Comparator.comparing(BitacoraClientes::fechaModificacion));
+        for (Path antiguo : rotados.subList(0, rotados.size() - archivosMaximos)) {
+            Files.deleteIfExists(antiguo);
+        }
+    }
+
+    private static long fechaModificacion(Path ruta) {
+        try {
+            return Files.getLastModifiedTime(ruta).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private void cerrar() {
+        if (salida == null) {
+            return;
+        }
+        try {
+            salida.close();
+        } catch (IOException e) {
+            logger.warn("Error al cerrar la bitacora {}: {}", archivo, e.getMessage());
+        }
+        salida = null;
+    }
+
+    private static void aCsv(Entrada entrada, StringBuilder texto) {
+        if (entrada.altas() != null) {
+            for (Cliente cliente : entrada.altas()) {
+                aCsv(new Entrada(entrada.fechaHora(), entrada.tipo(), cliente.getId(), cliente.getVersion(),
+                        cliente.getNombre(), cliente.getApellido(), cliente.getMembresia(), null, null, null),
+                        texto);
+            }
+            return;
+        }
+        texto.append(entrada.fechaHora()).append(',')
+                .append(entrada.tipo()).append(',');
+        valor(entrada.id(), texto).append(',');
+        valor(entrada.version(), texto).append(',');
+        campo(entrada.nombre(), texto).append(',');
+        campo(entrada.apellido(), texto).append(',');
+        valor(entrada.membresia(), texto).append(',');
+        valor(entrada.membresiaAnterior(), texto).append(',');
+        valor(entrada.registros(), texto).append('\n');
+    }
+
+    private static StringBuilder valor(Object valor, StringBuilder texto) {
+        return valor == null ? texto : texto.append(valor);
+    }
+
+    // Los textos con coma, comillas o saltos de linea van entre comillas (CSV estandar)
+    private static StringBuilder campo(String valor, StringBuilder texto) {
+        if (valor == null) {
+            return texto;
+        }
+        if (valor.indexOf(',') == -1 && valor.indexOf('"') == -1 && valor.indexOf('\n') == -1
+                && valor.indexOf('\r') == -1) {
+            return texto.append(valor);
+        }
+        return texto.append('"').append(valor.replace("\"", "\"\"")).append('"');
+    }
+
+    @Override
+    public void start() {
+        activo = true;
+        escritor = Thread.ofPlatform().name("bitacora-escritor").start(this::escribirLotes);
+    }
+
+    @Override
+    public void stop() {
+        activo = false;
+        try {
+            escritor.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!cola.isEmpty()) {
+            logger.warn("Quedaron {} entradas de la bitacora sin escribir al detener la aplicacion", cola.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return activo;
+    }
+}
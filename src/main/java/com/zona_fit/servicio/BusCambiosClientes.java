@@ -0,0 +1,241 @@
+package com.zona_fit.servicio;
+
+import com.zona_fit.configuracion.CacheConfiguracion;
+import com.zona_fit.modelo.Cliente;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Difunde los cambios de clientes entre los nodos del cluster (perfil cluster)
+ * Cada cambio local se anota en la tabla cliente_cambio dentro de la misma transaccion;
+ * cada nodo lee periodicamente los cambios de los demas y los vuelve a publicar localmente,
+ * de modo que se invalidan sus caches y se actualizan sus vistas abiertas y estadisticas
+ * Los id AUTO_INCREMENT se asignan al insertar pero se confirman en el orden de los commits:
+ * cada id saltado al avanzar se anota como hueco y se vuelve a consultar hasta que aparece
+ * o vence zonafit.cluster.espera-huecos-ms (transaccion revertida, el id nunca se confirmara)
+ */
+@Component
+@ConditionalOnProperty(name = "zonafit.cluster.habilitado", havingValue = "true")
+public class BusCambiosClientes {
+
+    private static final Logger logger = LoggerFactory.getLogger(BusCambiosClientes.class);
+
+    private static final String INSERTAR_CAMBIO = "insert into cliente_cambio (nodo, tipo, id_cliente, nombre, "
+            + "apellido, membresia, membresia_anterior, fecha_alta, registros, fecha_hora) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    // Se leen tambien los cambios propios: sus id no son huecos aunque no se apliquen
+    private static final String COLUMNAS_CAMBIO = "select id, nodo, tipo, id_cliente, nombre, apellido, membresia, "
+            + "membresia_anterior, fecha_alta, registros, fecha_hora from cliente_cambio ";
+    private static final String LEER_CAMBIOS = COLUMNAS_CAMBIO + "where id > ? order by id limit 1000";
+    private static final String IMPORTADOS = "IMPORTADOS";
+
+    // Huecos consultados por sondeo y huecos recordados como maximo (los mas viejos se descartan)
+    private static final int HUECOS_POR_CONSULTA = 500;
+    private static final int MAXIMO_HUECOS = 10_000;
+
+    // Marca los eventos que este nodo vuelve a publicar, para no anotarlos de nuevo
+    private static final ThreadLocal<Boolean> REPRODUCIENDO = ThreadLocal.withInitial(() -> false);
+
+    private final String nodo = UUID.randomUUID().toString();
+    // Id saltados aun no confirmados -> System.nanoTime() al detectarlos, del mas viejo al mas nuevo
+    private final Map<Long, Long> huecos = new LinkedHashMap<>();
+    private long ultimoId;
+
+    // Debe superar la transaccion de escritura mas larga; despues el id se da por revertido
+    @Value("${zonafit.cluster.espera-huecos-ms:300000}")
+    private long esperaHuecosMs;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ApplicationEventPublisher publicadorEventos;
+
+    /**
+     * Indica si el hilo actual esta publicando de nuevo un cambio hecho en otro nodo
+     */
+    static boolean reproduciendo() {
+        return REPRODUCIENDO.get();
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        // Solo interesan los cambios posteriores al arranque del nodo
+        Long maximo = jdbcTemplate.queryForObject("select max(id) from cliente_cambio", Long.class);
+        ultimoId = maximo == null ? 0 : maximo;
+        logger.info("Nodo {} escuchando cambios de clientes desde el id {}", nodo, ultimoId);
+    }
+
+    /**
+     * Se ejecuta de forma sincrona dentro de la transaccion que modifico al cliente
+     */
+    @EventListener
+    public void alCambiarCliente(ClienteEvento evento) {
+        if (REPRODUCIENDO.get()) {
+            return;
+        }
+        Cliente cliente = evento.cliente();
+        anotar(evento.tipo().name(), cliente.getId(), cliente.getNombre(), cliente.getApellido(),
+                cliente.getMembresia(), evento.membresiaAnterior(), cliente.getFechaAlta(), null);
+    }
+
+    @EventListener
+    public void alImportarClientes(ClientesImportadosEvento evento) {
+        if (REPRODUCIENDO.get()) {
+            return;
+        }
+        anotar(IMPORTADOS, null, null, null, null, null, null, evento.registros());
+    }
+
+    private void anotar(String tipo, Integer idCliente, String nombre, String apellido, Integer membresia,
+                        Integer membresiaAnterior, LocalDate fechaAlta, Integer registros) {
+        jdbcTemplate.update(INSERTAR_CAMBIO, ps -> {
+            ps.setString(1, nodo);
+            ps.setString(2, tipo);
+            ps.setObject(3, idCliente, Types.INTEGER);
+            ps.setString(4, nombre);
+            ps.setString(5, apellido);
+            ps.setObject(6, membresia, Types.INTEGER);
+            ps.setObject(7, membresiaAnterior, Types.INTEGER);
+            ps.setObject(8, fechaAlta, Types.DATE);
+            ps.setObject(9, registros, Types.INTEGER);
+            ps.setTimestamp(10, Timestamp.valueOf(LocalDateTime.now()));
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${zonafit.cluster.intervalo-sondeo-ms:1000}")
+    public void sondear() {
+        revisarHuecos();
+        long ahora = System.nanoTime();
+        List<Cambio> cambios = jdbcTemplate.query(LEER_CAMBIOS, BusCambiosClientes::aCambio, ultimoId);
+        for (Cambio cambio : cambios) {
+            for (long id = Math.max(ultimoId + 1, cambio.id() - MAXIMO_HUECOS); id < cambio.id(); id++) {
+                huecos.put(id, ahora);
+            }
+            ultimoId = cambio.id();
+            aplicarAjeno(cambio);
+        }
+        if (huecos.size() > MAXIMO_HUECOS) {
+            logger.warn("Demasiados cambios sin confirmar, se descartan {}", huecos.size() - MAXIMO_HUECOS);
+            Iterator<Long> viejos = huecos.keySet().iterator();
+            while (huecos.size() > MAXIMO_HUECOS) {
+                viejos.next();
+                viejos.remove();
+            }
+        }
+    }
+
+    // Consulta los id saltados en sondeos anteriores; los que ya se confirmaron se aplican
+    private void revisarHuecos() {
+        if (huecos.isEmpty()) {
+            return;
+        }
+        long vencido = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(esperaHuecosMs);
+        int antes = huecos.size();
+        huecos.values().removeIf(detectado -> detectado - vencido < 0);
+        if (huecos.size() < antes) {
+            logger.debug("Huecos vencidos (transacciones revertidas): {}", antes - huecos.size());
+        }
+        if (huecos.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(Math.min(huecos.size(), HUECOS_POR_CONSULTA));
+        for (Long id : huecos.keySet()) {
+            if (ids.size() == HUECOS_POR_CONSULTA) {
+                break;
+            }
+            ids.add(id);
+        }
+        String consulta = COLUMNAS_CAMBIO + "where id in (" + String.join(", ", Collections.nCopies(ids.size(), "?"))
+                + ") order by id";
+        for (Cambio cambio : jdbcTemplate.query(consulta, BusCambiosClientes::aCambio, ids.toArray())) {
+            huecos.remove(cambio.id());
+            aplicarAjeno(cambio);
+        }
+    }
+
+    private void aplicarAjeno(Cambio cambio) {
+        if (!nodo.equals(cambio.nodo())) {
+            aplicar(cambio);
+        }
+    }
+
+    private void aplicar(Cambio cambio) {
+        Cache clientes = cacheManager.getCache(CacheConfiguracion.CACHE_CLIENTES);
+        Cache membresias = cacheManager.getCache(CacheConfiguracion.CACHE_MEMBRESIAS);
+        REPRODUCIENDO.set(true);
+        try {
+            if (IMPORTADOS.equals(cambio.tipo())) {
+                publicadorEventos.publishEvent(new ClientesImportadosEvento(cambio.registros()));
+                return;
+            }
+            if (clientes != null) {
+                clientes.evict(cambio.idCliente());
+            }
+            // Las actualizaciones no traen la membresia anterior: se invalida por id de cliente
+            CacheConfiguracion.invalidarMembresiasDe(cacheManager, List.of(cambio.idCliente()));
+            if (membresias != null && cambio.membresia() != null) {
+                membresias.evict(cambio.membresia());
+            }
+            Cliente cliente = new Cliente(cambio.idCliente(), cambio.nombre(), cambio.apellido(),
+                    cambio.membresia());
+            cliente.setFechaAlta(cambio.fechaAlta());
+            publicadorEventos.publishEvent(new ClienteEvento(ClienteEvento.Tipo.valueOf(cambio.tipo()),
+                    cliente, cambio.membresiaAnterior()));
+        } finally {
+            REPRODUCIENDO.set(false);
+        }
+    }
+
+    /**
+     * Depura los cambios de mas de un dia (cualquier nodo puede hacerlo)
+     */
+    @Scheduled(cron = "0 15 * * * *")
+    public void depurar() {
+        int eliminados = jdbcTemplate.update("delete from cliente_cambio where fecha_hora < ?",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(1)));
+        logger.debug("Cambios de clientes depurados: {}", eliminados);
+    }
+
+    private static Cambio aCambio(ResultSet fila, int numero) throws SQLException {
+        return new Cambio(fila.getLong("id"), fila.getString("nodo"), fila.getString("tipo"),
+                fila.getObject("id_cliente", Integer.class), fila.getString("nombre"),
+                fila.getString("apellido"), fila.getObject("membresia", Integer.class),
+                fila.getObject("membresia_anterior", Integer.class),
+                fila.getObject("fecha_alta", LocalDate.class), fila.getInt("registros"), fila.getTimestamp("fecha_hora").toLocalDateTime());
+    }
+
+    private record Cambio(long id, String nodo, String tipo, Integer idCliente, String nombre, String apellido,
+                          Integer membresia, Integer membresiaAnterior, LocalDate fechaAlta, int registros,
+                          LocalDateTime fechaHora) {
+    }
+}
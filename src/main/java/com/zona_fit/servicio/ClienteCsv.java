@@ -0,0 +1,61 @@
+package com.zona_fit.servicio;
+
+import com.zona_fit.modelo.Cliente;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lectura de clientes en formato CSV
+ * Cada linea tiene la forma: nombre,apellido,membresia
+ * Se permite una linea de cabecera que empiece con "nombre" y se ignoran las lineas vacias
+ */
+public final class ClienteCsv {
+
+    private ClienteCsv() {
+    }
+
+    /**
+     * Lee todos los clientes del CSV
+     * @param lector Origen del CSV
+     * @return Clientes sin id, listos para insertar
+     * @throws IOException Si falla la lectura
+     * @throws IllegalArgumentException Si una linea no tiene el formato esperado
+     */
+    public static List<Cliente> leer(Reader lector) throws IOException {
+        List<Cliente> clientes = new ArrayList<>();
+        BufferedReader entrada = new BufferedReader(lector);
+        String linea;
+        int numeroLinea = 0;
+        while ((linea = entrada.readLine()) != null) {
+            numeroLinea++;
+            if (linea.isBlank() || (numeroLinea == 1 && linea.trim().toLowerCase().startsWith("nombre"))) {
+                continue;
+            }
+            clientes.add(aCliente(linea, numeroLinea));
+        }
+        return clientes;
+    }
+
+    /**
+     * Convierte una linea CSV en cliente
+     * @param linea Texto con la forma nombre,apellido,membresia
+     * @param numeroLinea Posicion de la linea, para el mensaje de error
+     * @return Cliente sin id
+     */
+    public static Cliente aCliente(String linea, int numeroLinea) {
+        String[] campos = linea.split(",", -1);
+        if (campos.length != 3) {
+            throw new IllegalArgumentException("Linea " + numeroLinea
+                    + ": se esperaban 3 campos (nombre,apellido,membresia)");
+        }
+        try {
+            return new Cliente(campos[0].trim(), campos[1].trim(), Integer.valueOf(campos[2].trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Linea " + numeroLinea + ": membresia invalida");
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.zona_fit.servicio;
+
+import com.zona_fit.modelo.Cliente;
+
+/**
+ * Evento publicado por ClienteServicio cada vez que un cliente cambia
+ * Los oyentes lo reciben despues del commit (@TransactionalEventListener)
+ * @param tipo Tipo de cambio
+ * @param cliente Datos del cliente; en una eliminacion solo se garantizan el id, la fecha de alta
+ *                y la version de la baja
+ * @param membresiaAnterior Membresia del cliente eliminado (null al crear o actualizar: la
+ *                          actualizacion no lee el cliente antes del UPDATE)
+ */
+public record ClienteEvento(Tipo tipo, Cliente cliente, Integer membresiaAnterior) {
+
+    public enum Tipo {
+        CREADO, ACTUALIZADO, ELIMINADO
+    }
+}
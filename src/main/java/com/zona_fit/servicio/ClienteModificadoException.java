@@ -0,0 +1,19 @@
+package com.zona_fit.servicio;
+
+/**
+ * Se lanza al guardar un cliente que otro usuario modifico o elimino despues de que se leyo
+ * (su version ya no coincide); la pantalla debe recargarlo y permitir guardar de nuevo
+ */
+public class ClienteModificadoException extends RuntimeException {
+
+    private final Integer idCliente;
+
+    public ClienteModificadoException(Integer idCliente) {
+        super("El cliente " + idCliente + " fue modificado por otro usuario");
+        this.idCliente = idCliente;
+    }
+
+    public Integer getIdCliente() {
+        return idCliente;
+    }
+}
@@ -1,11 +1,50 @@
 package com.zona_fit.servicio;
 
+import com.zona_fit.configuracion.CacheConfiguracion;
 import com.zona_fit.modelo.Cliente;
+import com.zona_fit.modelo.ClienteResumen;
+import com.zona_fit.monitoreo.PresupuestoSentencias;
+import com.zona_fit.repositorio.ClienteEliminadoRepositorio;
+import com.zona_fit.repositorio.ClienteEspecificaciones;
 import com.zona_fit.repositorio.ClienteRepositorio;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Implementación concreta de los servicios de gestión de clientes
@@ -13,51 +52,554 @@ import java.util.List;
  * Contiene la lógica de negocio de la aplicación
  */
 @Service // Marca la clase como un servicio de Spring (componente de negocio)
+@Timed(value = "zonafit.clientes.servicio", histogram = true) // Tiempo y conteo por metodo
 public class ClienteServicio implements IClienteServicio{
 
     @Autowired // Inyección de dependencias automática de Spring
     private ClienteRepositorio clienteRepositorio;
 
+    @PersistenceContext // Contexto de persistencia para desvincular entidades exportadas
+    private EntityManager entityManager;
+
+    @Autowired // Acceso JDBC directo para inserciones por lotes
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired // Bajas para la sincronizacion por cambios de la API
+    private ClienteEliminadoRepositorio clienteEliminadoRepositorio;
+
+    @Autowired // Invalidacion de cache para operaciones con varios ids
+    private CacheManager cacheManager;
+
+    @Autowired // Publica los cambios de clientes para las vistas abiertas
+    private ApplicationEventPublisher publicadorEventos;
+
+    @Autowired // Permite abrir una transaccion por cada lote importado
+    private PlatformTransactionManager transactionManager;
+
+    // Busqueda por contenido con el indice FULLTEXT (solo disponible en MySQL)
+    @Value("${zonafit.busqueda.texto-completo:true}")
+    private boolean busquedaTextoCompleto;
+
+    // Numero de clientes insertados por transaccion en las importaciones
+    @Value("${zonafit.importacion.tamano-lote:1000}")
+    private int tamanoLote;
+
+    // Antiguedad a partir de la cual una version ya no puede tener anteriores sin confirmar;
+    // debe superar TIEMPO_MAXIMO_ESCRITURA_S mas el retraso de la replica
+    @Value("${zonafit.versiones.margen-segundos:120}")
+    private int margenVersiones;
+
+    /**
+     * Tiempo maximo de las transacciones que escriben clientes; acota cuanto puede tardar
+     * en confirmarse una version ya asignada (ver zonafit.versiones.margen-segundos)
+     */
+    public static final int TIEMPO_MAXIMO_ESCRITURA_S = 30;
+
+    private static final Logger logger = LoggerFactory.getLogger(ClienteServicio.class);
+
+    // La tabla usa AUTO_INCREMENT, el id lo genera MySQL en cada fila del lote
+    private static final String INSERTAR_CLIENTE =
+            "insert into cliente (nombre, apellido, membresia, fecha_alta, version) values (?, ?, ?, ?, ?)";
+
+    private static final String INSERTAR_ELIMINADO =
+            "insert into cliente_eliminado (id_cliente, version, fecha_hora) values (?, ?, ?)";
+
+    // Cada transaccion de escritura toma su version de AUTO_INCREMENT, sin bloquear a las demas
+    private static final String INSERTAR_VERSION = "insert into cliente_version (fecha_hora) values (localtimestamp)";
+    private static final String BORRAR_VERSION = "delete from cliente_version where version = ?";
+
+    // Ultima version y una version con mas antiguedad que el margen (indice de fecha_hora)
+    private static final String LEER_VERSIONES = "select (select max(version) from cliente_version), "
+            + "(select version from cliente_version where fecha_hora < timestampadd(second, ?, localtimestamp) "
+            + "order by fecha_hora desc limit 1)";
+
     /**
      * Obtiene todos los clientes de la base de datos
      * @return Lista completa de clientes
      */
     @Override
+    @PresupuestoSentencias(sentencias = 1)
+    @Transactional(readOnly = true) // Se lee de la replica si esta habilitada
     public List<Cliente> listarClientes() {
         // Delega la operación al repositorio
         List<Cliente> clientes = clienteRepositorio.findAll();
         return clientes;
     }
 
+    /**
+     * Obtiene una pagina de clientes aplicando filtros y orden en la base de datos
+     * @param filtros Mapa campo -> valor del filtro
+     * @param pageable Pagina, tamaño y orden solicitados
+     * @return Pagina de clientes
+     */
+    @Override
+    @PresupuestoSentencias(sentencias = 2) // Pagina y conteo
+    @Transactional(readOnly = true)
+    public Page<Cliente> listarClientes(Map<String, Object> filtros, Pageable pageable) {
+        return clienteRepositorio.findAll(ClienteEspecificaciones.conFiltros(filtros), pageable);
+    }
+
+    /**
+     * Obtiene una pagina de resumenes de clientes con una consulta de proyeccion
+     * La transaccion de solo lectura deja la sesion de Hibernate en FlushMode.MANUAL
+     * y los records no se registran en el contexto de persistencia
+     * @param filtros Mapa campo -> valor del filtro
+     * @param pageable Pagina, tamaño y orden solicitados
+     * @return Resumenes de la pagina
+     */
+    @Override
+    @PresupuestoSentencias(sentencias = 1)
+    @Transactional(readOnly = true)
+    public List<ClienteResumen> listarResumenClientes(Map<String, Object> filtros, Pageable pageable) {
+        Integer id;
+        Integer membresia;
+        try {
+            id = filtroNumerico(filtros, "id");
+            membresia = filtroNumerico(filtros, "membresia");
+        } catch (NumberFormatException e) {
+            // Un valor no numerico no puede coincidir con ningun registro
+            return List.of();
+        }
+        return clienteRepositorio.listarResumen(id, filtroContiene(filtros, "nombre"),
+                filtroContiene(filtros, "apellido"), membresia, pageable);
+    }
+
+    /**
+     * Cuenta los clientes que cumplen los filtros
+     * @param filtros Mapa campo -> valor del filtro
+     * @return Numero de clientes
+     */
+    @Override
+    @PresupuestoSentencias(sentencias = 1)
+    @Transactional(readOnly = true)
+    public long contarClientes(Map<String, Object> filtros) {
+        return clienteRepositorio.count(ClienteEspecificaciones.conFiltros(filtros));
+    }
+
+    /**
+     * Obtiene los clientes siguientes a un id usando el indice de la clave primaria
+     * @param idCliente Ultimo id leido, null para empezar desde el principio
+     * @param limite Numero maximo de clientes a devolver
+     * @return Clientes ordenados por id
+     */
+    @Override
+    @PresupuestoSentencias(sentencias = 1)
+    @Transactional(readOnly = true)
+    public List<Cliente> listarClientesDespuesDe(Integer idCliente, int limite) {
+        int desde = idCliente == null ? 0 : idCliente;
+        return clienteRepositorio.findByIdGreaterThanOrderByIdAsc(desde, Limit.of(limite));
+    }
+
+    /**
+     * Exporta los clientes con un cursor de solo avance en una transaccion de solo lectura
+     * Cada cliente se desvincula del contexto de persistencia despues de entregarlo,
+     * asi la memoria se mantiene constante aunque se exporten millones de registros
+     * @param consumidor Recibe cada cliente exportado
+     * @return Numero de clientes exportados
+     */
+    @Override
+    @PresupuestoSentencias(sentencias = 1, filas = PresupuestoSentencias.SIN_LIMITE)
+    @Transactional(readOnly = true)
+    public long exportarClientes(Consumer<Cliente> consumidor) {
+        long total = 0;
+        try (Stream<Cliente> clientes = clienteRepositorio.streamClientes()) {
+            Iterator<Cliente> iterador = clientes.iterator();
+            while (iterador.hasNext()) {
+                Cliente cliente = iterador.next();
+                consumidor.accept(cliente);
+                entityManager.detach(cliente);
+                total++;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Lee la ultima version confirmada (clave mas alta de la tabla cliente_version)
+     * @return Ultima version visible, 0 si aun no hay ninguna
+     */
+    @Override
+    @PresupuestoSentencias(sentencias = 1)
+    @Transactional(readOnly = true)
+    public long versionActualClientes() {
+        Long version = jdbcTemplate.queryForObject("select max(version) from cliente_version", Long.class);
+        return version == null ? 0 : version;
+    }
+
+    /**
+     * Etiqueta del listado completo: ultima version y numero de versiones registradas
+     * Una version menor confirmada tarde no cambia el maximo pero si el numero de filas
+     * @return Texto que cambia con cada escritura confirmada
+     */
+    @Override
+    @PresupuestoSentencias(sentencias = 1)
+    @Transactional(readOnly = true)
+    public String etiquetaClientes() {
+        return jdbcTemplate.queryForObject("select max(version), count(*) from cliente_version",
+                (fila, numero) -> fila.getLong(1) + "-" + fila.getLong(2));
+    }
+
+    /**
+     * Exporta los clientes cambiados y eliminados despues de una version
+     * Las versiones se asignan sin bloqueos y pueden confirmarse fuera de orden: se exporta todo
+     * lo visible despues de "desde", pero se devuelve solo una version con mas antiguedad que
+     * zonafit.versiones.margen-segundos, cuyas anteriores ya terminaron (confirmadas o revertidas)
+     * Los cambios recientes se vuelven a enviar en la siguiente sincronizacion (aplicarlos es idempotente)
+     * @param desde Ultima version conocida por quien sincroniza
+     * @param modificados Recibe cada cliente creado o modificado, en orden de version
+     * @param eliminados Recibe el id de cada cliente eliminado
+     * @return Version hasta la que no quedan cambios por informar
+     */
+    @Override
+    @PresupuestoSentencias(sentencias = 3, filas = PresupuestoSentencias.SIN_LIMITE)
+    @Transactional(readOnly = true)
+    public long exportarCambios(long desde, Consumer<Cliente> modificados, Consumer<Integer> eliminados) {
+        long[] versiones = jdbcTemplate.queryForObject(LEER_VERSIONES,
+                (fila, numero) -> new long[]{fila.getLong(1), fila.getLong(2)}, -margenVersiones);
+        if (versiones[0] <= desde) {
+            return desde;
+        }
+        try (Stream<Cliente> clientes = clienteRepositorio.streamCambios(desde)) {
+            Iterator<Cliente> iterador = clientes.iterator();
+            while (iterador.hasNext()) {
+                Cliente cliente = iterador.next();
+                modificados.accept(cliente);
+                entityManager.detach(cliente);
+            }
+        }
+        try (Stream<Integer> ids = clienteEliminadoRepositorio.streamEliminados(desde)) {
+            ids.forEach(eliminados);
+        }
+        return Math.max(desde, versiones[1]);
+    }
+
+    /**
+     * Busca clientes por membresia exacta, por prefijo de nombre/apellido y por contenido
+     * Todas las consultas usan indices y estan limitadas, el costo no depende del total de clientes
+     * @param texto Texto escrito por el usuario
+     * @param limite Numero maximo de resultados
+     * @return Clientes encontrados, sin repetir
+     */
+    @Override
+    @PresupuestoSentencias(sentencias = 2) // Prefijo y, si faltan resultados, texto completo
+    @Transactional(readOnly = true)
+    public List<Cliente> buscarClientes(String texto, int limite) {
+        String consulta = texto == null ? "" : texto.trim();
+        if (consulta.isEmpty()) {
+            return List.of();
+        }
+        if (consulta.chars().allMatch(Character::isDigit) && consulta.length() <= 9) {
+            return clienteRepositorio.findByMembresia(Integer.valueOf(consulta), Limit.of(limite));
+        }
+        // LinkedHashMap por id: conserva el orden (primero prefijos) y evita repetidos
+        Map<Integer, Cliente> encontrados = new LinkedHashMap<>();
+        clienteRepositorio.buscarPorPrefijo(escaparLike(consulta) + "%", Limit.of(limite))
+                .forEach(cliente -> encontrados.put(cliente.getId(), cliente));
+        String textoCompleto = aConsultaTextoCompleto(consulta);
+        if (busquedaTextoCompleto && encontrados.size() < limite && !textoCompleto.isEmpty()) {
+            clienteRepositorio.buscarPorContenido(textoCompleto, limite)
+                    .forEach(cliente -> encontrados.putIfAbsent(cliente.getId(), cliente));
+        }
+        return encontrados.values().stream().limit(limite).toList();
+    }
+
+    // Escapa los comodines de LIKE con el caracter de escape '!' usado en las consultas
+    private static String escaparLike(String texto) {
+        return texto.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    // Cada palabra se busca como frase obligatoria; se quitan los operadores del modo booleano
+    private static String aConsultaTextoCompleto(String texto) {
+        StringBuilder consulta = new StringBuilder();
+        for (String palabra : texto.replaceAll("[+\\-<>()~*\"@]", " ").split("\\s+")) {
+            if (!palabra.isEmpty()) {
+                consulta.append("+\"").append(palabra).append("\" ");
+            }
+        }
+        return consulta.toString().trim();
+    }
+
     /**
      * Busca un cliente por su ID único
+     * El resultado se guarda en cache por id, los clientes inexistentes no se cachean
+     * Se lee siempre de la principal: lo que entra en cache no puede venir de una replica retrasada,
+     * porque quedaria ahi hasta que expire aunque la replica ya se haya puesto al dia
      * @param idCliente ID del cliente a buscar
      * @return Cliente encontrado o null si no existe
      */
     @Override
+    @PresupuestoSentencias(sentencias = 1)
+    @Transactional // Sin readOnly para que el enrutador use la principal
+    @Cacheable(cacheNames = CacheConfiguracion.CACHE_CLIENTES, key = "#idCliente",
+            unless = "#result == null")
     public Cliente buscarClientePorId(Integer idCliente) {
         // orElse(null) maneja el caso cuando no se encuentra el cliente
         Cliente cliente = clienteRepositorio.findById(idCliente).orElse(null);
         return cliente;
     }
 
+    /**
+     * Lee el cliente directamente de la base principal, sin pasar por la cache
+     * Para recargar un cliente tras ClienteModificadoException: ni la cache ni la replica
+     * pueden devolver la version vieja, que volveria a chocar al guardar
+     * @param idCliente ID del cliente a buscar
+     * @return Cliente actual o null si ya no existe
+     */
+    @Override
+    @PresupuestoSentencias(sentencias = 1)
+    @Transactional // Sin readOnly para que el enrutador use la principal
+    public Cliente buscarClienteActual(Integer idCliente) {
+        return clienteRepositorio.findById(idCliente).orElse(null);
+    }
+
+    /**
+     * Obtiene el id del cliente con una membresia
+     * Se cachea por membresia para validar las entradas sin consultar la base en cada acceso;
+     * las membresias inexistentes no se cachean
+     * Igual que buscarClientePorId, se lee de la principal para no cachear datos de la replica
+     * @param membresia Numero de membresia
+     * @return Id del cliente o null si no existe
+     */
+    @Override
+    @PresupuestoSentencias(sentencias = 1)
+    @Transactional
+    @Cacheable(cacheNames = CacheConfiguracion.CACHE_MEMBRESIAS, key = "#membresia",
+            unless = "#result == null")
+    public Integer buscarIdClientePorMembresia(Integer membresia) {
+        List<Cliente> clientes = clienteRepositorio.findByMembresia(membresia, Limit.of(1));
+        return clientes.isEmpty() ? null : clientes.get(0).getId();
+    }
+
     /**
      * Guarda o actualiza un cliente en la base de datos
-     * Spring Data JPA determina automáticamente si es INSERT o UPDATE
-     * basándose en si el ID es null (nuevo) o tiene valor (actualización)
+     * Si el ID es null (nuevo) se inserta con save() y se asigna la fecha de alta
+     * Si tiene valor (actualización) se ejecuta un UPDATE directo por id, sin leer antes el cliente
+     * ni hacer el merge de la entidad completa
+     * Si el cliente trae version el UPDATE es condicional (where version = leida), sin bloqueos:
+     * si otro usuario lo cambio entretanto no se sobrescribe y se lanza ClienteModificadoException
+     * (solo si no se actualizo nada se consulta si el cliente existe, para distinguir ambos casos)
+     * Si es una actualizacion se invalidan las entradas del cliente y de sus membresias en cache
+     * En ambos casos se asigna al cliente una nueva version global; si el UPDATE no afecto ninguna fila
+     * la version se borra, para que un guardado sin cambios no altere la etiqueta ni el delta de clientes
      * @param cliente Cliente a guardar/actualizar
+     * @return true si se inserto o actualizo una fila, false si el cliente a actualizar no existe
      */
     @Override
-    public void guardarCliente(Cliente cliente) {
-        clienteRepositorio.save(cliente);
+    @PresupuestoSentencias(sentencias = 4) // Version, UPDATE y, si no actualizo, existencia y borrar version
+    @Transactional(timeout = TIEMPO_MAXIMO_ESCRITURA_S)
+    @CacheEvict(cacheNames = CacheConfiguracion.CACHE_CLIENTES, key = "#cliente.id",
+            condition = "#cliente.id != null")
+    public boolean guardarCliente(Cliente cliente) {
+        if (cliente.getId() == null) {
+            if (cliente.getFechaAlta() == null) {
+                cliente.setFechaAlta(LocalDate.now());
+            }
+            cliente.setVersion(nuevaVersion());
+            clienteRepositorio.save(cliente);
+            publicadorEventos.publishEvent(new ClienteEvento(ClienteEvento.Tipo.CREADO, cliente.copia(), null));
+            return true;
+        }
+        long version = nuevaVersion();
+        boolean actualizado = clienteRepositorio.actualizarCliente(cliente.getId(), cliente.getNombre(),
+                cliente.getApellido(), cliente.getMembresia(), version, cliente.getVersion()) > 0;
+        if (!actualizado && cliente.getVersion() != null && clienteRepositorio.existsById(cliente.getId())) {
+            // La entrada en cache puede ser la version vieja (otro nodo del cluster): se descarta
+            // para que la pantalla recargue el cliente actual
+            Cache cache = cacheManager.getCache(CacheConfiguracion.CACHE_CLIENTES);
+            if (cache != null) {
+                cache.evict(cliente.getId());
+            }
+            throw new ClienteModificadoException(cliente.getId());
+        }
+        if (!actualizado) {
+            // No se revierte la transaccion: en el modo script es compartida con otros comandos
+            jdbcTemplate.update(BORRAR_VERSION, version);
+            return false;
+        }
+        cliente.setVersion(version);
+        invalidarMembresias(List.of(cliente.getId()), cliente.getMembresia());
+        publicadorEventos.publishEvent(new ClienteEvento(ClienteEvento.Tipo.ACTUALIZADO, cliente.copia(), null));
+        return true;
     }
 
     /**
-     * Elimina un cliente de la base de datos
+     * Inserta los clientes en lotes de tamaño fijo, cada lote en su propia transaccion
+     * Se usa JDBC por lotes porque el id IDENTITY impide que Hibernate agrupe los INSERT;
+     * con rewriteBatchedStatements el driver envia cada lote como un INSERT multi-fila
+     * Los ids generados se leen del mismo lote (getGeneratedKeys) y se asignan a cada cliente
+     * @param clientes Clientes sin ID a insertar
+     * @return Registros insertados y rendimiento de la importacion
+     */
+    @Override
+    @PresupuestoSentencias(sentencias = PresupuestoSentencias.SIN_LIMITE, filas = 0) // Un lote por sentencia
+    public ResultadoImportacion guardarClientes(Collection<Cliente> clientes) {
+        long inicio = System.nanoTime();
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        transaccion.setTimeout(TIEMPO_MAXIMO_ESCRITURA_S);
+        List<Cliente> lote = new ArrayList<>(tamanoLote);
+        int total = 0;
+        for (Cliente cliente : clientes) {
+            lote.add(cliente);
+            if (lote.size() == tamanoLote) {
+                total += insertarLote(transaccion, lote);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            total += insertarLote(transaccion, lote);
+        }
+        ResultadoImportacion resultado = new ResultadoImportacion(total,
+                (System.nanoTime() - inicio) / 1_000_000);
+        logger.info("Importados {} clientes en {} ms ({} filas/s)", resultado.registros(),
+                resultado.milisegundos(), Math.round(resultado.filasPorSegundo()));
+        publicadorEventos.publishEvent(new ClientesImportadosEvento(total));
+        return resultado;
+    }
+
+    private int insertarLote(TransactionTemplate transaccion, List<Cliente> lote) {
+        transaccion.executeWithoutResult(estado -> {
+            // Una sola version para todo el lote
+            long version = nuevaVersion();
+            for (Cliente cliente : lote) {
+                cliente.setVersion(version);
+                if (cliente.getFechaAlta() == null) {
+                    cliente.setFechaAlta(LocalDate.now());
+                }
+            }
+            KeyHolder claves = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(conexion -> conexion.prepareStatement(INSERTAR_CLIENTE, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            Cliente cliente = lote.get(i);
+                            ps.setString(1, cliente.getNombre());
+                            ps.setString(2, cliente.getApellido());
+                            ps.setObject(3, cliente.getMembresia(), Types.INTEGER);
+                            ps.setObject(4, cliente.getFechaAlta());
+                            ps.setLong(5, version);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return lote.size();
+                        }
+                    }, claves);
+            // Las claves llegan en el orden de las filas del lote
+            List<Map<String, Object>> filas = claves.getKeyList();
+            for (int i = 0; i < lote.size() && i < filas.size(); i++) {
+                lote.get(i).setId(((Number) filas.get(i).values().iterator().next()).intValue());
+            }
+            // Alta por cliente para la bitacora; se entrega al confirmar el lote
+            publicadorEventos.publishEvent(new ClientesInsertadosEvento(
+                    lote.stream().map(Cliente::copia).toList()));
+        });
+        return lote.size();
+    }
+
+    /**
+     * Elimina un cliente de la base de datos con un DELETE directo por id
+     * Antes se leen su membresia y fecha de alta (proyeccion por clave) para la baja, la bitacora
+     * y las estadisticas
+     * Tambien se invalidan sus entradas en cache
      * @param cliente Cliente a eliminar (debe tener ID válido)
+     * @return true si se elimino una fila, false si el cliente no existe
      */
     @Override
-    public void eliminarClientePorId(Cliente cliente) {
-        clienteRepositorio.delete(cliente);
+    @PresupuestoSentencias(sentencias = 4) // Datos de la baja, version, baja y DELETE
+    @Transactional(timeout = TIEMPO_MAXIMO_ESCRITURA_S)
+    @CacheEvict(cacheNames = CacheConfiguracion.CACHE_CLIENTES, key = "#cliente.id")
+    public boolean eliminarClientePorId(Cliente cliente) {
+        return eliminar(clienteRepositorio.buscarDatosBaja(List.of(cliente.getId()))) > 0;
+    }
+
+    /**
+     * Elimina varios clientes con un solo DELETE e invalida sus entradas en cache
+     * @param idsClientes IDs de los clientes a eliminar
+     * @return Numero de clientes eliminados
+     */
+    @Override
+    @PresupuestoSentencias(sentencias = 4) // Datos de las bajas, version, bajas y un solo DELETE
+    @Transactional(timeout = TIEMPO_MAXIMO_ESCRITURA_S)
+    public int eliminarClientesPorIds(Collection<Integer> idsClientes) {
+        if (idsClientes.isEmpty()) {
+            return 0;
+        }
+        Cache cache = cacheManager.getCache(CacheConfiguracion.CACHE_CLIENTES);
+        if (cache != null) {
+            idsClientes.forEach(cache::evict);
+        }
+        return eliminar(clienteRepositorio.buscarDatosBaja(idsClientes));
+    }
+
+    // Registra las bajas con su version, elimina los clientes y publica un evento por cada uno
+    // Cada fila de existentes es [id, membresia, fechaAlta]
+    private int eliminar(List<Object[]> existentes) {
+        if (existentes.isEmpty()) {
+            return 0;
+        }
+        long version = nuevaVersion();
+        LocalDateTime ahora = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(INSERTAR_ELIMINADO, existentes, existentes.size(), (ps, existente) -> {
+            ps.setInt(1, (Integer) existente[0]);
+            ps.setLong(2, version);
+            ps.setObject(3, ahora);
+        });
+        List<Integer> ids = existentes.stream().map(existente -> (Integer) existente[0]).toList();
+        int eliminados = clienteRepositorio.eliminarPorIds(ids);
+        invalidarMembresias(ids, null);
+        for (Object[] existente : existentes) {
+            Cliente eliminado = new Cliente();
+            eliminado.setId((Integer) existente[0]);
+            eliminado.setFechaAlta((LocalDate) existente[2]);
+            eliminado.setVersion(version); // Version de la baja (cliente_eliminado)
+            publicadorEventos.publishEvent(new ClienteEvento(ClienteEvento.Tipo.ELIMINADO, eliminado,
+                    (Integer) existente[1]));
+        }
+        return eliminados;
+    }
+
+    // Version de la transaccion actual: la clave AUTO_INCREMENT se asigna sin esperar a otras
+    // transacciones; la fila solo es visible al confirmar, junto con los cambios que marca
+    private long nuevaVersion() {
+        KeyHolder clave = new GeneratedKeyHolder();
+        jdbcTemplate.update(conexion -> conexion.prepareStatement(INSERTAR_VERSION, new String[]{"version"}), clave);
+        return clave.getKey().longValue();
+    }
+
+    /**
+     * Depura las versiones de mas de un dia; se conserva siempre la ultima
+     * La sincronizacion solo necesita las versiones recientes y una mas antigua que el margen
+     */
+    @Scheduled(cron = "0 45 3 * * *")
+    public void depurarVersiones() {
+        long ultima = versionActualClientes();
+        int eliminadas = jdbcTemplate.update("delete from cliente_version "
+                + "where fecha_hora < timestampadd(day, -1, localtimestamp) and version < ?", ultima);
+        logger.debug("Versiones de clientes depuradas: {}", eliminadas);
+    }
+
+    // La membresia anterior no se lee: se quitan por valor las entradas que apuntan a los clientes
+    private void invalidarMembresias(Collection<Integer> idsClientes, Integer membresiaNueva) {
+        CacheConfiguracion.invalidarMembresiasDe(cacheManager, idsClientes);
+        Cache cache = cacheManager.getCache(CacheConfiguracion.CACHE_MEMBRESIAS);
+        if (cache != null && membresiaNueva != null) {
+            cache.evict(membresiaNueva);
+        }
+    }
+
+    // Patron LIKE "contiene" en minusculas, igual que ClienteEspecificaciones
+    private static String filtroContiene(Map<String, Object> filtros, String campo) {
+        String texto = filtroTexto(filtros, campo);
+        return texto == null ? null : "%" + texto.toLowerCase() + "%";
+    }
+
+    private static Integer filtroNumerico(Map<String, Object> filtros, String campo) {
+        String texto = filtroTexto(filtros, campo);
+        return texto == null ? null : Integer.valueOf(texto);
+    }
+
+    private static String filtroTexto(Map<String, Object> filtros, String campo) {
+        Object valor = filtros == null ? null : filtros.get(campo);
+        return valor == null || valor.toString().isBlank() ? null : valor.toString().trim();
     }
-}
\ No newline at end of file
+}
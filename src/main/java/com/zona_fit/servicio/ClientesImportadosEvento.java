@@ -0,0 +1,9 @@
+package com.zona_fit.servicio;
+
+/**
+ * Evento publicado al terminar una importacion masiva de clientes
+ * Se publica un solo evento por importacion en lugar de uno por cliente
+ * @param registros Numero de clientes insertados
+ */
+public record ClientesImportadosEvento(int registros) {
+}
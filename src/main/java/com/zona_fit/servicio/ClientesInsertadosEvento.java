@@ -0,0 +1,14 @@
+package com.zona_fit.servicio;
+
+import com.zona_fit.modelo.Cliente;
+
+import java.util.List;
+
+/**
+ * Evento publicado por cada lote de una importacion masiva, dentro de la transaccion del lote
+ * Lleva los clientes insertados con su id generado y su version para la bitacora de auditoria;
+ * el resto de los oyentes solo atienden ClientesImportadosEvento, uno por importacion
+ * @param clientes Copias de los clientes insertados en el lote
+ */
+public record ClientesInsertadosEvento(List<Cliente> clientes) {
+}
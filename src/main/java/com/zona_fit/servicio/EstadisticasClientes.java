@@ -0,0 +1,20 @@
+package com.zona_fit.servicio;
+
+import lombok.Value;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Foto de las estadisticas de clientes para el tablero (estadisticas.xhtml)
+ */
+@Value
+public class EstadisticasClientes implements Serializable {
+
+    long totalClientes; // Socios activos (clientes registrados)
+    List<Map.Entry<LocalDate, Long>> altasPorDia; // Ultimos dias, del mas reciente al mas antiguo
+    LocalDateTime ultimaReconciliacion; // null si aun no se ha reconciliado con la base
+}
@@ -0,0 +1,159 @@
+package com.zona_fit.servicio;
+
+import com.zona_fit.repositorio.ClienteRepositorio;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Estadisticas de clientes mantenidas de forma incremental: total de socios y altas por dia
+ * Los contadores se ajustan con cada ClienteEvento confirmado (alta, baja)
+ * y se reconcilian periodicamente con consultas agregadas para corregir desviaciones
+ * (importaciones masivas, cambios hechos fuera de la aplicacion)
+ * Solo se guardan datos de pocas filas (30 dias): la membresia es unica por socio y agrupar por
+ * ella haria crecer el tablero con el numero de clientes
+ */
+@Service
+public class EstadisticasServicio implements IEstadisticasServicio {
+
+    private static final Logger logger = LoggerFactory.getLogger(EstadisticasServicio.class);
+
+    // Dias de altas que se conservan en memoria
+    private static final int DIAS_ALTAS = 30;
+
+    // Recalculos descartados seguidos por eventos concurrentes antes de conservar los contadores
+    private static final int INTENTOS_RECONCILIACION = 3;
+
+    @Autowired
+    private ClienteRepositorio clienteRepositorio;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Protegidos por this: los eventos y la reconciliacion son poco frecuentes
+    private long totalClientes;
+    private final Map<LocalDate, Long> altasPorDia = new TreeMap<>(Comparator.reverseOrder());
+    private LocalDateTime ultimaReconciliacion;
+    // Eventos aplicados; un recalculo solo se usa si no cambio mientras se consultaba la base
+    private long eventosAplicados;
+
+    @Override
+    public synchronized EstadisticasClientes obtenerEstadisticas() {
+        return new EstadisticasClientes(totalClientes, entradas(altasPorDia), ultimaReconciliacion);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void alCambiarCliente(ClienteEvento evento) {
+        switch (evento.tipo()) {
+            case CREADO -> {
+                totalClientes++;
+                sumarAlta(evento.cliente().getFechaAlta(), 1);
+            }
+            case ELIMINADO -> {
+                totalClientes--;
+                sumarAlta(evento.cliente().getFechaAlta(), -1);
+            }
+            case ACTUALIZADO -> {
+                return; // No cambia el total ni las altas
+            }
+        }
+        eventosAplicados++;
+    }
+
+    /**
+     * Las importaciones masivas no publican un evento por cliente, se recalcula todo
+     */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alImportarClientes(ClientesImportadosEvento evento) {
+        reconciliar();
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void alIniciar() {
+        reconciliar();
+    }
+
+    /**
+     * Las consultas se hacen en una transaccion de escritura para leer de la base principal
+     * (las de solo lectura pueden ir a la replica, ver EnrutadorDataSource)
+     */
+    @Override
+    @Scheduled(initialDelayString = "${zonafit.estadisticas.intervalo-reconciliacion-ms:600000}",
+            fixedDelayString = "${zonafit.estadisticas.intervalo-reconciliacion-ms:600000}")
+    public void reconciliar() {
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        for (int intento = 1; intento <= INTENTOS_RECONCILIACION; intento++) {
+            if (Boolean.TRUE.equals(transaccion.execute(estado -> recalcular()))) {
+                return;
+            }
+        }
+        logger.debug("Reconciliacion omitida: llegaron eventos durante {} recalculos", INTENTOS_RECONCILIACION);
+    }
+
+    // Un evento aplicado mientras se consultaba la base puede estar o no en los resultados:
+    // en ese caso el recalculo se descarta y se repite, sin perder ni duplicar el evento
+    private boolean recalcular() {
+        long inicio = System.nanoTime();
+        long eventosAntes;
+        synchronized (this) {
+            eventosAntes = eventosAplicados;
+        }
+        long total = clienteRepositorio.count();
+        Map<LocalDate, Long> altas = new TreeMap<>(Comparator.reverseOrder());
+        for (Object[] fila : clienteRepositorio.contarAltasDesde(primerDiaAltas())) {
+            altas.put((LocalDate) fila[0], (Long) fila[1]);
+        }
+        synchronized (this) {
+            if (eventosAplicados != eventosAntes) {
+                return false;
+            }
+            if (total != totalClientes) {
+                logger.info("Reconciliacion de estadisticas: {} clientes (contador: {})", total, totalClientes);
+            }
+            totalClientes = total;
+            altasPorDia.clear();
+            altasPorDia.putAll(altas);
+            ultimaReconciliacion = LocalDateTime.now();
+        }
+        logger.debug("Estadisticas reconciliadas en {} ms", (System.nanoTime() - inicio) / 1_000_000);
+        return true;
+    }
+
+    private void sumarAlta(LocalDate alta, long cantidad) {
+        if (alta != null && !alta.isBefore(primerDiaAltas())) {
+            altasPorDia.merge(alta, cantidad, (actual, suma) -> {
+                long resultado = actual + suma;
+                return resultado <= 0 ? null : resultado; // Sin altas, se quita la fila
+            });
+        }
+    }
+
+    private static LocalDate primerDiaAltas() {
+        return LocalDate.now().minusDays(DIAS_ALTAS - 1);
+    }
+
+    private static <K> List<Map.Entry<K, Long>> entradas(Map<K, Long> contadores) {
+        List<Map.Entry<K, Long>> entradas = new ArrayList<>(contadores.size());
+        contadores.forEach((clave, total) -> entradas.add(new AbstractMap.SimpleImmutableEntry<>(clave, total)));
+        return entradas;
+    }
+}
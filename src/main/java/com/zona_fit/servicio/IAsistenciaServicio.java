@@ -0,0 +1,35 @@
+package com.zona_fit.servicio;
+
+import com.zona_fit.modelo.Asistencia;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Interfaz que define los servicios de registro de entradas (asistencias) al gimnasio
+ */
+public interface IAsistenciaServicio {
+
+    /**
+     * Registra la entrada de un socio
+     * Valida la membresia y encola la entrada; la escritura en la base es asincrona y por lotes
+     * @param membresia Numero de membresia presentado en el acceso
+     * @return Resultado del registro
+     */
+    public ResultadoEntrada registrarEntrada(Integer membresia);
+
+    /**
+     * Obtiene las ultimas entradas escritas de un cliente
+     * @param idCliente ID del cliente
+     * @param limite Numero maximo de entradas
+     * @return Entradas de la mas reciente a la mas antigua
+     */
+    public List<Asistencia> ultimasAsistencias(Integer idCliente, int limite);
+
+    /**
+     * Cuenta las entradas escritas desde un momento dado
+     * @param desde Fecha y hora inicial
+     * @return Numero de entradas
+     */
+    public long contarAsistenciasDesde(LocalDateTime desde);
+}
@@ -1,8 +1,14 @@
 package com.zona_fit.servicio;
 
 import com.zona_fit.modelo.Cliente;
+import com.zona_fit.modelo.ClienteResumen;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Interfaz que define los servicios disponibles para la gestión de clientes
@@ -16,25 +22,134 @@ public interface IClienteServicio {
      * @return Lista de objetos Cliente
      */
     public List<Cliente> listarClientes();
+
+    /**
+     * Obtiene una pagina de clientes filtrada y ordenada
+     * Evita cargar la tabla completa en memoria en las vistas paginadas
+     * @param filtros Mapa campo -> valor (nombre, apellido, id, membresia)
+     * @param pageable Pagina, tamaño y orden solicitados
+     * @return Pagina de clientes
+     */
+    public Page<Cliente> listarClientes(Map<String, Object> filtros, Pageable pageable);
+
+    /**
+     * Obtiene una pagina de resumenes de clientes (solo lectura) para las tablas
+     * No crea entidades administradas; el total se obtiene aparte con contarClientes
+     * @param filtros Mapa campo -> valor (nombre, apellido, id, membresia)
+     * @param pageable Pagina, tamaño y orden solicitados (Pageable.unpaged() para todos)
+     * @return Resumenes de la pagina
+     */
+    public List<ClienteResumen> listarResumenClientes(Map<String, Object> filtros, Pageable pageable);
+
+    /**
+     * Cuenta los clientes que cumplen los filtros indicados
+     * @param filtros Mapa campo -> valor (nombre, apellido, id, membresia)
+     * @return Numero de clientes
+     */
+    public long contarClientes(Map<String, Object> filtros);
+
+    /**
+     * Obtiene los clientes siguientes a un id (paginacion por clave)
+     * @param idCliente Ultimo id leido, null para empezar desde el principio
+     * @param limite Numero maximo de clientes a devolver
+     * @return Clientes ordenados por id
+     */
+    public List<Cliente> listarClientesDespuesDe(Integer idCliente, int limite);
+
+    /**
+     * Exporta todos los clientes entregandolos uno a uno al consumidor
+     * Se recorren con un cursor, la memoria usada no depende del numero de clientes
+     * @param consumidor Recibe cada cliente exportado
+     * @return Numero de clientes exportados
+     */
+    public long exportarClientes(Consumer<Cliente> consumidor);
+
+    /**
+     * Version global actual de los clientes: cambia con cada alta, modificacion o baja
+     * @return Ultima version confirmada (0 si aun no hay ninguna)
+     */
+    public long versionActualClientes();
+
+    /**
+     * Etiqueta (ETag) del listado completo de clientes
+     * Cambia con cada escritura confirmada, tambien con las que se confirman fuera de orden
+     * @return Etiqueta del estado actual
+     */
+    public String etiquetaClientes();
+
+    /**
+     * Exporta los cambios posteriores a una version, con un cursor y en una sola transaccion
+     * Puede volver a entregar cambios recientes ya informados en la sincronizacion anterior
+     * @param desde Ultima version conocida por quien sincroniza
+     * @param modificados Recibe cada cliente creado o modificado, en orden de version
+     * @param eliminados Recibe el id de cada cliente eliminado
+     * @return Version hasta la que no quedan cambios por informar; se usa como "desde" en la
+     * siguiente sincronizacion
+     */
+    public long exportarCambios(long desde, Consumer<Cliente> modificados, Consumer<Integer> eliminados);
     
+    /**
+     * Busca clientes para el autocompletado de la recepcion
+     * Un texto numerico busca por membresia exacta; un texto libre busca nombres o apellidos
+     * que empiezan con el texto y, si faltan resultados, que lo contienen
+     * @param texto Texto escrito por el usuario
+     * @param limite Numero maximo de resultados
+     * @return Clientes encontrados, sin repetir
+     */
+    public List<Cliente> buscarClientes(String texto, int limite);
+
     /**
      * Busca un cliente específico por su ID
      * @param idCliente ID del cliente a buscar
      * @return Cliente encontrado o null si no existe
      */
     public Cliente buscarClientePorId(Integer idCliente);
+
+    /**
+     * Busca el cliente en la base principal sin usar la cache, p. ej. tras un conflicto de version
+     * @param idCliente ID del cliente a buscar
+     * @return Cliente actual o null si no existe
+     */
+    public Cliente buscarClienteActual(Integer idCliente);
+
+    /**
+     * Obtiene el id del cliente que tiene una membresia (consulta en cache)
+     * @param membresia Numero de membresia
+     * @return Id del cliente o null si la membresia no existe
+     */
+    public Integer buscarIdClientePorMembresia(Integer membresia);
     
     /**
      * Guarda un nuevo cliente o actualiza uno existente
      * Si el cliente tiene ID null, se crea nuevo registro
-     * Si el cliente tiene ID, se actualiza el registro existente
+     * Si el cliente tiene ID, se actualiza el registro existente; si ademas trae version,
+     * solo se actualiza si sigue siendo la version guardada (concurrencia optimista)
      * @param cliente Objeto Cliente a guardar/actualizar
+     * @return true si se inserto o actualizo una fila, false si el cliente a actualizar no existe
+     * @throws ClienteModificadoException Si otro usuario cambio el cliente despues de leerlo
+     */
+    public boolean guardarCliente(Cliente cliente);
+
+    /**
+     * Inserta muchos clientes nuevos en lotes transaccionales
+     * Pensado para importaciones masivas (por ejemplo al incorporar otro gimnasio)
+     * Al terminar cada cliente tiene asignado su id generado
+     * @param clientes Clientes sin ID a insertar
+     * @return Registros insertados y rendimiento de la importacion
      */
-    public void guardarCliente(Cliente cliente);
+    public ResultadoImportacion guardarClientes(Collection<Cliente> clientes);
     
     /**
      * Elimina un cliente de la base de datos
      * @param cliente Objeto Cliente a eliminar
+     * @return true si se elimino una fila, false si el cliente no existe
+     */
+    public boolean eliminarClientePorId(Cliente cliente);
+
+    /**
+     * Elimina varios clientes a la vez
+     * @param idsClientes IDs de los clientes a eliminar
+     * @return Numero de clientes eliminados
      */
-    public void eliminarClientePorId(Cliente cliente);
+    public int eliminarClientesPorIds(Collection<Integer> idsClientes);
 }
\ No newline at end of file
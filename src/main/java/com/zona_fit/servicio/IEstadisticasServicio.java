@@ -0,0 +1,19 @@
+package com.zona_fit.servicio;
+
+/**
+ * Interfaz que define los servicios de estadisticas de clientes
+ */
+public interface IEstadisticasServicio {
+
+    /**
+     * Obtiene las estadisticas actuales desde contadores en memoria
+     * El costo no depende del numero de clientes
+     * @return Estadisticas de clientes
+     */
+    public EstadisticasClientes obtenerEstadisticas();
+
+    /**
+     * Recalcula los contadores con consultas agregadas sobre la base de datos
+     */
+    public void reconciliar();
+}
@@ -0,0 +1,13 @@
+package com.zona_fit.servicio;
+
+/**
+ * Resultado de registrar la entrada de un socio
+ */
+public enum ResultadoEntrada {
+    // Aceptada, se escribira en el siguiente lote
+    REGISTRADA,
+    // La membresia no corresponde a ningun cliente
+    MEMBRESIA_INVALIDA,
+    // La cola esta llena (la base no da abasto), el acceso debe reintentarse
+    SATURADO
+}
@@ -0,0 +1,17 @@
+package com.zona_fit.servicio;
+
+/**
+ * Resultado de una importacion masiva de clientes
+ * @param registros Numero de clientes insertados
+ * @param milisegundos Duracion total de la importacion
+ */
+public record ResultadoImportacion(int registros, long milisegundos) {
+
+    /**
+     * Rendimiento de la importacion
+     * @return Filas insertadas por segundo
+     */
+    public double filasPorSegundo() {
+        return registros * 1000.0 / Math.max(milisegundos, 1);
+    }
+}
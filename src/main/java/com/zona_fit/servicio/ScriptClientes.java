@@ -0,0 +1,233 @@
+package com.zona_fit.servicio;
+
+import com.zona_fit.modelo.Cliente;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ejecuta un script de comandos sobre los clientes, sin interaccion (modo script de la consola)
+ * Cada linea es un comando con sus datos en CSV; las lineas vacias y las que empiezan con '#' se ignoran:
+ *   listar
+ *   buscar,id
+ *   agregar,nombre,apellido,membresia
+ *   modificar,id,nombre,apellido,membresia
+ *   eliminar,id
+ * Las escrituras se agrupan en transacciones de zonafit.script.tamano-lote comandos y los "agregar"
+ * consecutivos se insertan en un lote JDBC. Las lecturas confirman antes el lote pendiente
+ * El script se lee linea a linea y los resultados se escriben a medida que se producen
+ * (listar recorre los clientes con un cursor), de modo que la memoria no depende del tamaño
+ * Salida CSV: linea,resultado[,datos]; AGREGADO incluye el id generado por el lote; los errores de formato se informan y la linea se omite,
+ * un error de base de datos revierte el lote en curso y detiene el script
+ */
+@Component
+public class ScriptClientes {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScriptClientes.class);
+
+    @Autowired
+    private IClienteServicio clienteServicio;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${zonafit.script.tamano-lote:500}")
+    private int tamanoLote;
+
+    /**
+     * Resultado de un script
+     * @param lineas Lineas leidas
+     * @param aplicadas Comandos ejecutados y confirmados
+     * @param errores Lineas con error (formato, cliente inexistente o lote revertido)
+     */
+    public record Resumen(int lineas, int aplicadas, int errores) {
+    }
+
+    // Comando ya interpretado, con el numero de linea para la salida
+    private record Comando(int linea, String nombre, Cliente cliente) {
+    }
+
+    // Resultado de confirmar un lote; detenido si se revirtio
+    private record Resultado(int aplicadas, int errores, boolean detenido) {
+    }
+
+    /**
+     * Ejecuta los comandos del lector y escribe los resultados en la salida
+     * @param lector Script (archivo o entrada estandar)
+     * @param salida Destino de los resultados
+     * @return Resumen de la ejecucion
+     * @throws IOException Si falla la lectura del script
+     */
+    public Resumen ejecutar(Reader lector, PrintWriter salida) throws IOException {
+        BufferedReader entrada = new BufferedReader(lector);
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        transaccion.setTimeout(ClienteServicio.TIEMPO_MAXIMO_ESCRITURA_S);
+        List<Comando> pendientes = new ArrayList<>(tamanoLote);
+        int numeroLinea = 0;
+        int aplicadas = 0;
+        int errores = 0;
+        String linea;
+        while ((linea = entrada.readLine()) != null) {
+            numeroLinea++;
+            if (linea.isBlank() || linea.trim().startsWith("#")) {
+                continue;
+            }
+            Comando comando;
+            try {
+                comando = interpretar(linea, numeroLinea);
+            } catch (IllegalArgumentException e) {
+                salida.println(numeroLinea + ",ERROR," + e.getMessage());
+                errores++;
+                continue;
+            }
+            if (comando.nombre().equals("listar") || comando.nombre().equals("buscar")) {
+                Resultado resultado = confirmar(transaccion, pendientes, salida, numeroLinea);
+                aplicadas += resultado.aplicadas();
+                errores += resultado.errores();
+                if (resultado.detenido()) {
+                    return resumen(numeroLinea, aplicadas, errores, salida);
+                }
+                int noEncontrados = leer(comando, salida);
+                aplicadas += 1 - noEncontrados;
+                errores += noEncontrados;
+                continue;
+            }
+            pendientes.add(comando);
+            if (pendientes.size() == tamanoLote) {
+                Resultado resultado = confirmar(transaccion, pendientes, salida, numeroLinea);
+                aplicadas += resultado.aplicadas();
+                errores += resultado.errores();
+                if (resultado.detenido()) {
+                    return resumen(numeroLinea, aplicadas, errores, salida);
+                }
+            }
+        }
+        Resultado resultado = confirmar(transaccion, pendientes, salida, numeroLinea);
+        return resumen(numeroLinea, aplicadas + resultado.aplicadas(), errores + resultado.errores(), salida);
+    }
+
+    private Resumen resumen(int lineas, int aplicadas, int errores, PrintWriter salida) {
+        salida.flush();
+        Resumen resumen = new Resumen(lineas, aplicadas, errores);
+        logger.info("Script: {} lineas, {} comandos aplicados, {} errores", lineas, aplicadas, errores);
+        return resumen;
+    }
+
+    private Comando interpretar(String linea, int numeroLinea) {
+        int coma = linea.indexOf(',');
+        String nombre = (coma == -1 ? linea : linea.substring(0, coma)).trim().toLowerCase();
+        String datos = coma == -1 ? "" : linea.substring(coma + 1);
+        return switch (nombre) {
+            case "listar" -> new Comando(numeroLinea, nombre, null);
+            case "buscar", "eliminar" -> new Comando(numeroLinea, nombre, new Cliente(aId(datos), null, null, null));
+            case "agregar" -> new Comando(numeroLinea, nombre, ClienteCsv.aCliente(datos, numeroLinea));
+            case "modificar" -> {
+                int separador = datos.indexOf(',');
+                if (separador == -1) {
+                    throw new IllegalArgumentException("se esperaba id,nombre,apellido,membresia");
+                }
+                Cliente cliente = ClienteCsv.aCliente(datos.substring(separador + 1), numeroLinea);
+                cliente.setId(aId(datos.substring(0, separador)));
+                yield new Comando(numeroLinea, nombre, cliente);
+            }
+            default -> throw new IllegalArgumentException("comando desconocido: " + nombre);
+        };
+    }
+
+    private static Integer aId(String texto) {
+        try {
+            return Integer.valueOf(texto.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("id invalido: " + texto.trim());
+        }
+    }
+
+    // Las lecturas se ejecutan fuera de los lotes; devuelve 1 si el cliente no existe
+    private int leer(Comando comando, PrintWriter salida) {
+        if (comando.nombre().equals("listar")) {
+            clienteServicio.exportarClientes(cliente -> salida.println(comando.linea() + ",CLIENTE,"
+                    + aCsv(cliente)));
+            return 0;
+        }
+        Cliente cliente = clienteServicio.buscarClientePorId(comando.cliente().getId());
+        if (cliente == null) {
+            salida.println(comando.linea() + ",NO_ENCONTRADO," + comando.cliente().getId());
+            return 1;
+        }
+        salida.println(comando.linea() + ",CLIENTE," + aCsv(cliente));
+        return 0;
+    }
+
+    // Ejecuta los comandos pendientes en una transaccion y escribe sus resultados al confirmarse
+    private Resultado confirmar(TransactionTemplate transaccion, List<Comando> pendientes,
+                                PrintWriter salida, int numeroLinea) {
+        if (pendientes.isEmpty()) {
+            return new Resultado(0, 0, false);
+        }
+        List<String> resultados = new ArrayList<>(pendientes.size());
+        int noEncontrados;
+        try {
+            noEncontrados = transaccion.execute(estado -> aplicar(pendientes, resultados));
+        } catch (RuntimeException e) {
+            logger.error("Lote revertido (lineas {} a {})", pendientes.get(0).linea(), numeroLinea, e);
+            salida.println(pendientes.get(0).linea() + ",LOTE_REVERTIDO,lineas " + pendientes.get(0).linea()
+                    + " a " + pendientes.get(pendientes.size() - 1).linea() + ": " + e.getMessage());
+            int errores = pendientes.size();
+            pendientes.clear();
+            return new Resultado(0, errores, true);
+        }
+        resultados.forEach(salida::println);
+        salida.flush();
+        int aplicadas = pendientes.size() - noEncontrados;
+        pendientes.clear();
+        return new Resultado(aplicadas, noEncontrados, false);
+    }
+
+    // Devuelve el numero de clientes a modificar o eliminar que no existen
+    private int aplicar(List<Comando> comandos, List<String> resultados) {
+        List<Comando> altas = new ArrayList<>();
+        int noEncontrados = 0;
+        for (Comando comando : comandos) {
+            if (comando.nombre().equals("agregar")) {
+                altas.add(comando);
+                continue;
+            }
+            // Las altas consecutivas se insertan juntas antes del siguiente cambio (se conserva el orden)
+            insertar(altas, resultados);
+            Integer id = comando.cliente().getId();
+            boolean aplicado = comando.nombre().equals("modificar")
+                    ? clienteServicio.guardarCliente(comando.cliente())
+                    : clienteServicio.eliminarClientePorId(comando.cliente());
+            String accion = comando.nombre().equals("modificar") ? "MODIFICADO" : "ELIMINADO";
+            resultados.add(comando.linea() + "," + (aplicado ? accion : "NO_ENCONTRADO") + "," + id);
+            noEncontrados += aplicado ? 0 : 1;
+        }
+        insertar(altas, resultados);
+        return noEncontrados;
+    }
+
+    private void insertar(List<Comando> altas, List<String> resultados) {
+        if (altas.isEmpty()) {
+            return;
+        }
+        clienteServicio.guardarClientes(altas.stream().map(Comando::cliente).toList());
+        altas.forEach(alta -> resultados.add(alta.linea() + ",AGREGADO," + aCsv(alta.cliente())));
+        altas.clear();
+    }
+
+    private static String aCsv(Cliente cliente) {
+        return (cliente.getId() == null ? "" : cliente.getId()) + "," + cliente.getNombre() + ","
+                + cliente.getApellido() + "," + cliente.getMembresia();
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Actualizaciones en vivo de la tabla de clientes
+ * Recibe por WebSocket (/ws/clientes) solo el renglon que cambio y lo aplica en la pagina:
+ * - ACTUALIZADO: reemplaza el texto de las celdas del cliente
+ * - ELIMINADO: quita su renglon
+ * - CREADO / IMPORTADOS: muestra el aviso de clientes nuevos; al hacer clic se recarga la pagina
+ *   visible (recargarClientes, manteniendo la pagina actual), asi cada alta no dispara
+ *   el conteo y la consulta de pagina en todas las vistas abiertas
+ */
+(function () {
+    var REINTENTO_MS = 5000;
+
+    function conectar() {
+        var protocolo = location.protocol === 'https:' ? 'wss://' : 'ws://';
+        var socket = new WebSocket(protocolo + location.host + window.zonaFitContexto + '/ws/clientes');
+        socket.onmessage = function (evento) {
+            aplicarCambio(JSON.parse(evento.data));
+        };
+        socket.onclose = function () {
+            setTimeout(conectar, REINTENTO_MS);
+        };
+    }
+
+    function celdas(id) {
+        return document.querySelectorAll('[data-cliente="' + id + '"]');
+    }
+
+    function aplicarCambio(cambio) {
+        switch (cambio.tipo) {
+            case 'ACTUALIZADO':
+                celdas(cambio.id).forEach(function (celda) {
+                    var valor = cambio[celda.dataset.campo];
+                    celda.textContent = valor === null || valor === undefined ? '' : valor;
+                });
+                break;
+            case 'ELIMINADO':
+                celdas(cambio.id).forEach(function (celda) {
+                    var renglon = celda.closest('tr');
+                    if (renglon) {
+                        renglon.remove();
+                    }
+                });
+                break;
+            default:
+                document.getElementById('clientes-nuevos').style.display = '';
+        }
+    }
+
+    function recargar() {
+        this.style.display = 'none';
+        recargarClientes();
+    }
+
+    document.addEventListener('DOMContentLoaded', function () {
+        document.getElementById('clientes-nuevos').addEventListener('click', recargar);
+        conectar();
+    });
+})();
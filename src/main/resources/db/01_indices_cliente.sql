@@ -0,0 +1,14 @@
+-- Indices para la busqueda de clientes en zona_fit_db
+-- El esquema se administra fuera de la aplicacion (spring.jpa.hibernate.ddl-auto=none),
+-- ejecutar una sola vez sobre la base de datos
+
+-- Busqueda por prefijo de nombre o apellido (LIKE 'texto%')
+CREATE INDEX idx_cliente_nombre ON cliente (nombre);
+CREATE INDEX idx_cliente_apellido ON cliente (apellido);
+
+-- Busqueda exacta por numero de membresia
+CREATE INDEX idx_cliente_membresia ON cliente (membresia);
+
+-- Busqueda por contenido: el parser ngram indexa fragmentos de 2 caracteres
+-- (ngram_token_size), por lo que encuentra texto en medio de las palabras
+CREATE FULLTEXT INDEX ftx_cliente_nombre_apellido ON cliente (nombre, apellido) WITH PARSER ngram;
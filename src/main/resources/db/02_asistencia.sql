@@ -0,0 +1,27 @@
+-- Tabla de asistencias (entradas de los socios) en zona_fit_db
+-- Particionada por mes de fecha_hora: los INSERT solo tocan la particion del mes en curso
+-- y las consultas por rango de fechas descartan el resto (partition pruning).
+-- MySQL exige que la columna de particion forme parte de la clave primaria
+-- y no admite claves foraneas en tablas particionadas; la membresia se valida en la aplicacion
+
+CREATE TABLE asistencia (
+    id          BIGINT   NOT NULL AUTO_INCREMENT,
+    id_cliente  INT      NOT NULL,
+    membresia   INT      NOT NULL,
+    fecha_hora  DATETIME NOT NULL,
+    PRIMARY KEY (id, fecha_hora),
+    KEY idx_asistencia_cliente_fecha (id_cliente, fecha_hora)
+)
+PARTITION BY RANGE COLUMNS (fecha_hora) (
+    PARTITION p2026_10 VALUES LESS THAN ('2026-11-01'),
+    PARTITION p2026_11 VALUES LESS THAN ('2026-12-01'),
+    PARTITION p2026_12 VALUES LESS THAN ('2027-01-01'),
+    PARTITION p_futuro VALUES LESS THAN (MAXVALUE)
+);
+
+-- Mantenimiento mensual: separar el mes siguiente de p_futuro antes de que empiece
+-- ALTER TABLE asistencia REORGANIZE PARTITION p_futuro INTO (
+--     PARTITION p2027_01 VALUES LESS THAN ('2027-02-01'),
+--     PARTITION p_futuro VALUES LESS THAN (MAXVALUE));
+-- Depurar un mes completo sin DELETE fila por fila:
+-- ALTER TABLE asistencia DROP PARTITION p2026_10;
@@ -0,0 +1,5 @@
+-- Fecha de alta de los clientes (altas por dia en estadisticas.xhtml)
+-- Los clientes existentes quedan sin fecha y no cuentan en las altas por dia
+
+ALTER TABLE cliente ADD COLUMN fecha_alta DATE NULL;
+CREATE INDEX idx_cliente_fecha_alta ON cliente (fecha_alta);
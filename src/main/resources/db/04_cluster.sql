@@ -0,0 +1,45 @@
+-- Tablas del modo cluster (perfil "cluster") en zona_fit_db
+
+-- Sesiones de Spring Session JDBC (esquema de org/springframework/session/jdbc/schema-mysql.sql)
+-- ATTRIBUTE_BYTES es MEDIUMBLOB porque el estado JSF serializado puede superar los 64 KB de BLOB
+CREATE TABLE SPRING_SESSION (
+    PRIMARY_ID CHAR(36) NOT NULL,
+    SESSION_ID CHAR(36) NOT NULL,
+    CREATION_TIME BIGINT NOT NULL,
+    LAST_ACCESS_TIME BIGINT NOT NULL,
+    MAX_INACTIVE_INTERVAL INT NOT NULL,
+    EXPIRY_TIME BIGINT NOT NULL,
+    PRINCIPAL_NAME VARCHAR(100),
+    CONSTRAINT SPRING_SESSION_PK PRIMARY KEY (PRIMARY_ID)
+) ENGINE=InnoDB ROW_FORMAT=DYNAMIC;
+
+CREATE UNIQUE INDEX SPRING_SESSION_IX1 ON SPRING_SESSION (SESSION_ID);
+CREATE INDEX SPRING_SESSION_IX2 ON SPRING_SESSION (EXPIRY_TIME);
+CREATE INDEX SPRING_SESSION_IX3 ON SPRING_SESSION (PRINCIPAL_NAME);
+
+CREATE TABLE SPRING_SESSION_ATTRIBUTES (
+    SESSION_PRIMARY_ID CHAR(36) NOT NULL,
+    ATTRIBUTE_NAME VARCHAR(200) NOT NULL,
+    ATTRIBUTE_BYTES MEDIUMBLOB NOT NULL,
+    CONSTRAINT SPRING_SESSION_ATTRIBUTES_PK PRIMARY KEY (SESSION_PRIMARY_ID, ATTRIBUTE_NAME),
+    CONSTRAINT SPRING_SESSION_ATTRIBUTES_FK FOREIGN KEY (SESSION_PRIMARY_ID)
+        REFERENCES SPRING_SESSION (PRIMARY_ID) ON DELETE CASCADE
+) ENGINE=InnoDB ROW_FORMAT=DYNAMIC;
+
+-- Diario de cambios de clientes que cada nodo lee para replicar los cambios de los demas
+-- (se depura automaticamente, solo conserva el ultimo dia)
+CREATE TABLE cliente_cambio (
+    id                 BIGINT      NOT NULL AUTO_INCREMENT,
+    nodo               CHAR(36)    NOT NULL,
+    tipo               VARCHAR(20) NOT NULL,
+    id_cliente         INT         NULL,
+    nombre             VARCHAR(255) NULL,
+    apellido           VARCHAR(255) NULL,
+    membresia          INT         NULL,
+    membresia_anterior INT         NULL,
+    fecha_alta         DATE        NULL,
+    registros          INT         NULL,
+    fecha_hora         DATETIME    NOT NULL,
+    PRIMARY KEY (id),
+    KEY idx_cliente_cambio_fecha (fecha_hora)
+);
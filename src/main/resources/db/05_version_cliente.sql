@@ -0,0 +1,23 @@
+-- Version global de los clientes para la API REST (/api/clientes): ETag por cliente
+-- y sincronizacion por cambios ("cambios desde la version N")
+-- Los clientes existentes quedan con la version 1, incluida en /api/clientes/cambios?desde=0
+
+ALTER TABLE cliente ADD COLUMN version BIGINT NOT NULL DEFAULT 1;
+CREATE INDEX idx_cliente_version ON cliente (version);
+
+-- Versiones: cada transaccion que escribe inserta una fila y usa su clave, sin bloquear a las demas
+-- (se depura automaticamente, solo conserva el ultimo dia y la ultima version)
+CREATE TABLE cliente_version (
+    version    BIGINT   NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    fecha_hora DATETIME NOT NULL,
+    INDEX idx_cliente_version_fecha (fecha_hora)
+);
+INSERT INTO cliente_version (version, fecha_hora) VALUES (1, NOW());
+
+-- Clientes eliminados, para informar las bajas en la sincronizacion por cambios
+CREATE TABLE cliente_eliminado (
+    id_cliente INT      NOT NULL PRIMARY KEY,
+    version    BIGINT   NOT NULL,
+    fecha_hora DATETIME NOT NULL,
+    INDEX idx_cliente_eliminado_version (version)
+);
@@ -0,0 +1,176 @@
+package com.zona_fit;
+
+import com.zona_fit.modelo.Cliente;
+import com.zona_fit.resiliencia.ServicioSaturadoException;
+import com.zona_fit.servicio.IClienteServicio;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prueba de carga de los flujos de listado y guardado de index.xhtml
+ * Ambos flujos entran por HTTP para que los atienda el servidor en su modo de hilos
+ * (el guardado usa un endpoint de prueba que llama a guardarCliente como IndexControlador)
+ * Las solicitudes que rechaza el limite de concurrencia (zonafit.limite.*) se cuentan aparte: son el
+ * comportamiento esperado bajo saturacion, no errores; los limites se pueden ajustar con -Dzonafit.limite.*
+ * Se ejecuta una vez por modo de hilos y se comparan los resultados del log:
+ *   mvn test -Dtest=CargaHilosTests -Dzonafit.carga=true -Dspring.threads.virtual.enabled=false
+ *   mvn test -Dtest=CargaHilosTests -Dzonafit.carga=true -Dspring.threads.virtual.enabled=true
+ * Requiere la base de datos configurada en application.properties
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EnabledIfSystemProperty(named = "zonafit.carga", matches = "true")
+class CargaHilosTests {
+
+    private static final Logger logger = LoggerFactory.getLogger(CargaHilosTests.class);
+
+    // Usuarios concurrentes simulados y operaciones por usuario
+    private static final int USUARIOS = 400;
+    private static final int OPERACIONES_POR_USUARIO = 25;
+
+    private static final String RUTA_GUARDADO = "/carga/clientes";
+
+    // Script que muestra el aviso de SaturacionExceptionHandlerFactory al final de la pagina:
+    // el listado rechazado responde 200 con la tabla vacia
+    private static final String AVISO_SATURACION = "PF('mensajes').renderMessage({summary: 'Sistema ocupado'";
+
+    @LocalServerPort
+    private int puerto;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean hilosVirtuales;
+
+    @Autowired
+    private IClienteServicio clienteServicio;
+
+    @Test
+    void cargaListado() throws Exception {
+        HttpClient http = HttpClient.newHttpClient();
+        HttpRequest peticion = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + puerto + "/index.xhtml")).GET().build();
+        AtomicInteger atendidas = new AtomicInteger();
+        AtomicInteger rechazadas = new AtomicInteger();
+        AtomicInteger errores = new AtomicInteger();
+        long milisegundos = ejecutarConcurrente(() -> {
+            HttpResponse<String> respuesta = http.send(peticion, HttpResponse.BodyHandlers.ofString());
+            if (respuesta.statusCode() != 200) {
+                errores.incrementAndGet();
+            } else if (respuesta.body().contains(AVISO_SATURACION)) {
+                rechazadas.incrementAndGet();
+            } else {
+                atendidas.incrementAndGet();
+            }
+        });
+        informar("listado", milisegundos, rechazadas.get());
+        assertThat(errores.get()).isZero();
+        assertThat(atendidas.get() + rechazadas.get()).isEqualTo(USUARIOS * OPERACIONES_POR_USUARIO);
+    }
+
+    /**
+     * Endpoint de guardado solo para esta prueba: se ejecuta en un hilo del servidor
+     */
+    @TestConfiguration
+    static class GuardadoHttp {
+
+        @Bean
+        RouterFunction<ServerResponse> guardarClienteCarga(IClienteServicio clienteServicio) {
+            return RouterFunctions.route()
+                    .POST(RUTA_GUARDADO, peticion -> {
+                        Cliente cliente = new Cliente("Carga", "Hilos", 1);
+                        try {
+                            clienteServicio.guardarCliente(cliente);
+                        } catch (ServicioSaturadoException e) {
+                            // Rechazo del limite de concurrencia: 503 para contarlo aparte de los errores
+                            return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+                        }
+                        return ServerResponse.ok().body(String.valueOf(cliente.getId()));
+                    })
+                    .build();
+        }
+    }
+
+    @Test
+    void cargaGuardado() throws Exception {
+        HttpClient http = HttpClient.newHttpClient();
+        HttpRequest peticion = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + puerto + RUTA_GUARDADO))
+                .POST(HttpRequest.BodyPublishers.noBody()).build();
+        ConcurrentLinkedQueue<Integer> idsCreados = new ConcurrentLinkedQueue<>();
+        AtomicInteger rechazadas = new AtomicInteger();
+        AtomicInteger errores = new AtomicInteger();
+        try {
+            long milisegundos = ejecutarConcurrente(() -> {
+                HttpResponse<String> respuesta = http.send(peticion, HttpResponse.BodyHandlers.ofString());
+                if (respuesta.statusCode() == 200) {
+                    idsCreados.add(Integer.valueOf(respuesta.body()));
+                } else if (respuesta.statusCode() == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+                    rechazadas.incrementAndGet();
+                } else {
+                    errores.incrementAndGet();
+                }
+            });
+            informar("guardado", milisegundos, rechazadas.get());
+            assertThat(errores.get()).isZero();
+            assertThat(idsCreados.size() + rechazadas.get()).isEqualTo(USUARIOS * OPERACIONES_POR_USUARIO);
+        } finally {
+            clienteServicio.eliminarClientesPorIds(List.copyOf(idsCreados));
+        }
+    }
+
+    // El generador de carga siempre usa hilos virtuales para no ser el cuello de botella
+    private long ejecutarConcurrente(Operacion operacion) throws Exception {
+        long inicio = System.nanoTime();
+        try (ExecutorService usuarios = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> resultados = new ArrayList<>();
+            for (int u = 0; u < USUARIOS; u++) {
+                resultados.add(usuarios.submit(() -> {
+                    for (int i = 0; i < OPERACIONES_POR_USUARIO; i++) {
+                        operacion.ejecutar();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> resultado : resultados) {
+                resultado.get();
+            }
+        }
+        return (System.nanoTime() - inicio) / 1_000_000;
+    }
+
+    private void informar(String flujo, long milisegundos, int rechazadas) {
+        int total = USUARIOS * OPERACIONES_POR_USUARIO;
+        logger.info("Carga {} con hilos {}: {} operaciones en {} ms ({} ops/s), {} rechazadas por saturacion", flujo,
+                hilosVirtuales ? "virtuales" : "plataforma", total, milisegundos,
+                total * 1000L / Math.max(milisegundos, 1), rechazadas);
+    }
+
+    @FunctionalInterface
+    private interface Operacion {
+        void ejecutar() throws Exception;
+    }
+}
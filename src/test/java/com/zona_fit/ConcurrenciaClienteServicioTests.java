@@ -0,0 +1,176 @@
+package com.zona_fit;
+
+import com.zona_fit.modelo.Cliente;
+import com.zona_fit.servicio.ClienteModificadoException;
+import com.zona_fit.servicio.IClienteServicio;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Concurrencia optimista de IClienteServicio.guardarCliente (perfil de prueba "concurrencia")
+ * Muchos hilos leen, modifican y guardan el mismo cliente a la vez, reintentando ante
+ * ClienteModificadoException como lo hacen las pantallas; ninguna actualizacion debe perderse
+ * Tambien comprueba que la sincronizacion por cambios no salta versiones confirmadas fuera de orden
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("concurrencia")
+class ConcurrenciaClienteServicioTests {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrenciaClienteServicioTests.class);
+
+    private static final int HILOS = 16;
+    private static final int INCREMENTOS_POR_HILO = 50;
+    private static final int MEMBRESIA_INICIAL = 1000;
+
+    @Autowired
+    private IClienteServicio clienteServicio;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Integer idCliente;
+
+    @BeforeEach
+    void preparar() {
+        jdbcTemplate.update("insert into cliente (nombre, apellido, membresia, version) values (?, ?, ?, 1)",
+                "Concurrente", "C", MEMBRESIA_INICIAL);
+        idCliente = jdbcTemplate.queryForObject("select id from cliente", Integer.class);
+    }
+
+    @AfterEach
+    void limpiar() {
+        jdbcTemplate.update("delete from cliente");
+        jdbcTemplate.update("delete from cliente_version");
+    }
+
+    @Test
+    void guardarConVersionVieja() {
+        Cliente primero = clienteServicio.buscarClientePorId(idCliente).copia();
+        Cliente segundo = clienteServicio.buscarClientePorId(idCliente).copia();
+        primero.setNombre("Primero");
+        segundo.setNombre("Segundo");
+
+        assertThat(clienteServicio.guardarCliente(primero)).isTrue();
+        assertThatThrownBy(() -> clienteServicio.guardarCliente(segundo))
+                .isInstanceOf(ClienteModificadoException.class);
+
+        Cliente guardado = clienteServicio.buscarClientePorId(idCliente);
+        assertThat(guardado.getNombre()).isEqualTo("Primero");
+        assertThat(guardado.getVersion()).isEqualTo(primero.getVersion());
+
+        // Como la pantalla tras el conflicto: se recarga el cliente actual y se vuelve a guardar
+        Cliente recargado = clienteServicio.buscarClienteActual(idCliente).copia();
+        recargado.setNombre("Segundo");
+        assertThat(clienteServicio.guardarCliente(recargado)).isTrue();
+    }
+
+    @Test
+    void sinActualizacionesPerdidas() throws Exception {
+        ExecutorService hilos = Executors.newFixedThreadPool(HILOS);
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<Integer>> conflictosPorHilo = new ArrayList<>();
+        for (int i = 0; i < HILOS; i++) {
+            Callable<Integer> tarea = () -> {
+                salida.await();
+                int conflictos = 0;
+                for (int j = 0; j < INCREMENTOS_POR_HILO; j++) {
+                    conflictos += incrementarMembresia();
+                }
+                return conflictos;
+            };
+            conflictosPorHilo.add(hilos.submit(tarea));
+        }
+        long inicio = System.nanoTime();
+        salida.countDown();
+        int conflictos = 0;
+        for (Future<Integer> conflictosHilo : conflictosPorHilo) {
+            conflictos += conflictosHilo.get(2, TimeUnit.MINUTES);
+        }
+        hilos.shutdown();
+        long milisegundos = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+        logger.info("{} actualizaciones en {} ms con {} conflictos reintentados",
+                HILOS * INCREMENTOS_POR_HILO, milisegundos, conflictos);
+
+        // Cada incremento confirmado se aplico sobre el valor anterior: no se perdio ninguno
+        Cliente cliente = clienteServicio.buscarClientePorId(idCliente);
+        assertThat(cliente.getMembresia()).isEqualTo(MEMBRESIA_INICIAL + HILOS * INCREMENTOS_POR_HILO);
+        assertThat(cliente.getVersion()).isEqualTo(clienteServicio.versionActualClientes());
+    }
+
+    @Test
+    void sincronizacionNoSaltaVersionesConfirmadasTarde() throws Exception {
+        // Una version con mas antiguedad que el margen, como la de una escritura ya terminada
+        jdbcTemplate.update("insert into cliente_version (fecha_hora) values (timestampadd(hour, -1, localtimestamp))");
+        long vieja = clienteServicio.versionActualClientes();
+        CountDownLatch asignada = new CountDownLatch(1);
+        CountDownLatch confirmar = new CountDownLatch(1);
+        ExecutorService hilo = Executors.newSingleThreadExecutor();
+        // Transaccion que toma su version y tarda en confirmarse
+        Future<?> tardia = hilo.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            Cliente cliente = clienteServicio.buscarClientePorId(idCliente).copia();
+            cliente.setNombre("Tardio");
+            clienteServicio.guardarCliente(cliente);
+            asignada.countDown();
+            try {
+                confirmar.await(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        try {
+            assertThat(asignada.await(1, TimeUnit.MINUTES)).isTrue();
+            // Otra escritura toma una version mayor y se confirma antes
+            clienteServicio.guardarClientes(List.of(new Cliente("Nuevo", "N", 2000)));
+            long hasta = clienteServicio.exportarCambios(0, cliente -> { }, id -> { });
+            // No se avanza sobre las versiones recientes: la version tardia queda por informar
+            assertThat(hasta).isEqualTo(vieja);
+        } finally {
+            confirmar.countDown();
+            tardia.get(1, TimeUnit.MINUTES);
+            hilo.shutdown();
+        }
+        List<Cliente> modificados = new ArrayList<>();
+        clienteServicio.exportarCambios(vieja, modificados::add, id -> { });
+        assertThat(modificados).filteredOn(cliente -> cliente.getId().equals(idCliente))
+                .extracting(Cliente::getNombre).containsExactly("Tardio");
+    }
+
+    // Lee, incrementa y guarda; ante un conflicto vuelve a leer y reintenta. Devuelve los conflictos
+    private int incrementarMembresia() {
+        int conflictos = 0;
+        while (true) {
+            Cliente cliente = clienteServicio.buscarClientePorId(idCliente).copia();
+            cliente.setMembresia(cliente.getMembresia() + 1);
+            try {
+                assertThat(clienteServicio.guardarCliente(cliente)).isTrue();
+                return conflictos;
+            } catch (ClienteModificadoException e) {
+                conflictos++;
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.zona_fit;
+
+import com.zona_fit.configuracion.MonitorReplica;
+import com.zona_fit.modelo.Cliente;
+import com.zona_fit.servicio.IClienteServicio;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Enrutamiento entre la base principal y la replica (perfil de prueba "replica")
+ * Las dos bases tienen datos distintos para saber de cual se leyo
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("replica")
+class ReplicaLecturaTests {
+
+    @Autowired
+    private IClienteServicio clienteServicio;
+
+    @Autowired
+    private MonitorReplica monitorReplica;
+
+    @Autowired
+    @Qualifier("primarioDataSource")
+    private DataSource primarioDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate primario;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void preparar() {
+        primario = new JdbcTemplate(primarioDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        // Hibernate solo crea el esquema en la principal
+        replica.execute("create table if not exists cliente (id integer auto_increment primary key, "
+                + "nombre varchar(255), apellido varchar(255), membresia integer, fecha_alta date, "
+                + "version bigint)");
+        primario.update("insert into cliente (nombre, apellido, membresia) values ('Principal', 'P', 1)");
+        replica.update("insert into cliente (nombre, apellido, membresia) values ('Replica', 'R', 2)");
+        replica.update("insert into cliente (nombre, apellido, membresia) values ('Replica', 'R', 3)");
+        monitorReplica.actualizarEstado(0L);
+    }
+
+    @AfterEach
+    void limpiar() {
+        primario.update("delete from cliente");
+        replica.update("delete from cliente");
+    }
+
+    @Test
+    void lecturasVanALaReplica() {
+        assertThat(clienteServicio.contarClientes(Map.of())).isEqualTo(2);
+        assertThat(clienteServicio.listarClientes())
+                .extracting(Cliente::getNombre).containsOnly("Replica");
+    }
+
+    @Test
+    void escriturasVanALaPrincipal() {
+        clienteServicio.guardarCliente(new Cliente("Nuevo", "N", 4));
+        assertThat(primario.queryForObject("select count(*) from cliente", Integer.class)).isEqualTo(2);
+        assertThat(replica.queryForObject("select count(*) from cliente", Integer.class)).isEqualTo(2);
+    }
+
+    @Test
+    void trasUnaEscrituraLaBusquedaPorIdLeeDeLaPrincipal() {
+        // La replica no recibe la modificacion, como si aun no la hubiera replicado
+        Integer id = primario.queryForObject("select id from cliente", Integer.class);
+        Cliente cliente = new Cliente(id, "Modificado", "P", 1);
+        assertThat(clienteServicio.guardarCliente(cliente)).isTrue();
+        assertThat(clienteServicio.buscarClientePorId(id))
+                .extracting(Cliente::getNombre).isEqualTo("Modificado");
+        assertThat(clienteServicio.buscarIdClientePorMembresia(1)).isEqualTo(id);
+    }
+
+    @Test
+    void conRetrasoSeLeeDeLaPrincipal() {
+        monitorReplica.actualizarEstado(null);
+        assertThat(clienteServicio.listarClientes())
+                .extracting(Cliente::getNombre).containsOnly("Principal");
+    }
+}
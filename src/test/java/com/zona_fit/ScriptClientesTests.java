@@ -0,0 +1,107 @@
+package com.zona_fit;
+
+import com.zona_fit.servicio.ScriptClientes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ejecuta scripts de ScriptClientes sobre la base H2 del perfil de prueba "sentencias"
+ * Comprueba la salida CSV, los ids de las altas por lotes y la reversion de un lote con error
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("sentencias")
+class ScriptClientesTests {
+
+    @Autowired
+    private ScriptClientes scriptClientes;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void limpiar() {
+        jdbcTemplate.update("delete from cliente");
+        jdbcTemplate.update("delete from cliente_eliminado");
+        jdbcTemplate.update("delete from cliente_version");
+    }
+
+    @Test
+    void agregarInformaIdsGenerados() throws IOException {
+        Salida salida = ejecutar("""
+                # altas en un solo lote
+                agregar,Ana,Lopez,101
+                agregar,Luis,Perez,102
+                """);
+        List<Integer> ids = jdbcTemplate.queryForList("select id from cliente order by id", Integer.class);
+        assertThat(ids).hasSize(2);
+        assertThat(salida.lineas()).containsExactly(
+                "2,AGREGADO," + ids.get(0) + ",Ana,Lopez,101",
+                "3,AGREGADO," + ids.get(1) + ",Luis,Perez,102");
+        assertThat(salida.resumen()).isEqualTo(new ScriptClientes.Resumen(3, 2, 0));
+    }
+
+    @Test
+    void modificarEliminarYBuscar() throws IOException {
+        jdbcTemplate.update("insert into cliente (nombre, apellido, membresia, version) values ('Ana', 'Lopez', 101, 1)");
+        Integer id = jdbcTemplate.queryForObject("select id from cliente", Integer.class);
+        Salida salida = ejecutar("modificar," + id + ",Ana,Diaz,201\n"
+                + "buscar," + id + "\n"
+                + "eliminar," + id + "\n"
+                + "eliminar," + id + "\n");
+        assertThat(salida.lineas()).containsExactly(
+                "1,MODIFICADO," + id,
+                "2,CLIENTE," + id + ",Ana,Diaz,201",
+                "3,ELIMINADO," + id,
+                "4,NO_ENCONTRADO," + id);
+        assertThat(salida.resumen()).isEqualTo(new ScriptClientes.Resumen(4, 3, 1));
+        assertThat(jdbcTemplate.queryForObject("select count(*) from cliente", Integer.class)).isZero();
+    }
+
+    @Test
+    void lineaConFormatoInvalidoSeOmite() throws IOException {
+        Salida salida = ejecutar("""
+                agregar,Ana,Lopez
+                borrar,1
+                agregar,Luis,Perez,102
+                """);
+        assertThat(salida.lineas()).hasSize(3);
+        assertThat(salida.lineas().get(0)).startsWith("1,ERROR,");
+        assertThat(salida.lineas().get(1)).isEqualTo("2,ERROR,comando desconocido: borrar");
+        assertThat(salida.lineas().get(2)).startsWith("3,AGREGADO,").endsWith(",Luis,Perez,102");
+        assertThat(salida.resumen()).isEqualTo(new ScriptClientes.Resumen(3, 1, 2));
+    }
+
+    @Test
+    void errorDeBaseDeDatosRevierteElLoteYDetiene() throws IOException {
+        // El nombre excede la columna: falla el INSERT del lote completo
+        Salida salida = ejecutar("agregar,Ana,Lopez,101\n"
+                + "agregar," + "x".repeat(300) + ",Perez,102\n"
+                + "agregar,Luis,Perez,103\n"
+                + "listar\n");
+        assertThat(salida.lineas()).hasSize(1);
+        assertThat(salida.lineas().get(0)).startsWith("1,LOTE_REVERTIDO,lineas 1 a 3");
+        assertThat(salida.resumen()).isEqualTo(new ScriptClientes.Resumen(4, 0, 3));
+        assertThat(jdbcTemplate.queryForObject("select count(*) from cliente", Integer.class)).isZero();
+    }
+
+    private Salida ejecutar(String script) throws IOException {
+        StringWriter texto = new StringWriter();
+        ScriptClientes.Resumen resumen = scriptClientes.ejecutar(new StringReader(script), new PrintWriter(texto));
+        return new Salida(texto.toString().lines().toList(), resumen);
+    }
+
+    private record Salida(List<String> lineas, ScriptClientes.Resumen resumen) {
+    }
+}
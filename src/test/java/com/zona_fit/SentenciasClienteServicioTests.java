@@ -0,0 +1,196 @@
+package com.zona_fit;
+
+import com.zona_fit.modelo.Cliente;
+import com.zona_fit.monitoreo.ContadorSentencias;
+import com.zona_fit.servicio.IClienteServicio;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fija el numero de sentencias SQL de cada operacion de IClienteServicio (perfil de prueba "sentencias")
+ * Si un cambio agrega consultas (N+1, lecturas repetidas) estas pruebas fallan
+ * La cache esta desactivada para medir siempre el acceso a la base de datos
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("sentencias")
+class SentenciasClienteServicioTests {
+
+    private static final int CLIENTES = 30;
+
+    @Autowired
+    private IClienteServicio clienteServicio;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<Integer> ids;
+
+    @BeforeEach
+    void preparar() {
+        for (int i = 1; i <= CLIENTES; i++) {
+            jdbcTemplate.update("insert into cliente (nombre, apellido, membresia) values (?, ?, ?)",
+                    "Nombre" + i, "Apellido" + i, 1000 + i);
+        }
+        ids = jdbcTemplate.queryForList("select id from cliente order by id", Integer.class);
+    }
+
+    @AfterEach
+    void limpiar() {
+        jdbcTemplate.update("delete from cliente");
+        jdbcTemplate.update("delete from cliente_eliminado");
+        jdbcTemplate.update("delete from cliente_version");
+    }
+
+    @Test
+    void listarClientes() {
+        assertSentencias(ContadorSentencias.medir(() -> clienteServicio.listarClientes()), 1);
+    }
+
+    @Test
+    void listarClientesPaginado() {
+        // Pagina y conteo
+        assertSentencias(ContadorSentencias.medir(() ->
+                clienteServicio.listarClientes(Map.of("nombre", "nombre"), PageRequest.of(0, 10))), 2);
+    }
+
+    @Test
+    void listarResumenClientes() {
+        assertSentencias(ContadorSentencias.medir(() ->
+                clienteServicio.listarResumenClientes(Map.of(), PageRequest.of(1, 10, Sort.by("id")))), 1);
+    }
+
+    @Test
+    void contarClientes() {
+        assertSentencias(ContadorSentencias.medir(() -> clienteServicio.contarClientes(Map.of())), 1);
+    }
+
+    @Test
+    void listarClientesDespuesDe() {
+        assertSentencias(ContadorSentencias.medir(() ->
+                clienteServicio.listarClientesDespuesDe(ids.get(0), 10)), 1);
+    }
+
+    @Test
+    void exportarClientes() {
+        List<Cliente> exportados = new ArrayList<>();
+        ContadorSentencias.Medicion medicion = ContadorSentencias.medir(() ->
+                clienteServicio.exportarClientes(exportados::add));
+        assertSentencias(medicion, 1);
+        assertThat(medicion.getFilas()).isEqualTo(CLIENTES);
+    }
+
+    @Test
+    void versionActualClientes() {
+        assertSentencias(ContadorSentencias.medir(() -> clienteServicio.versionActualClientes()), 1);
+    }
+
+    @Test
+    void etiquetaClientes() {
+        assertSentencias(ContadorSentencias.medir(() -> clienteServicio.etiquetaClientes()), 1);
+    }
+
+    @Test
+    void exportarCambios() {
+        clienteServicio.guardarCliente(new Cliente(ids.get(0), "Cambiado", "C", 2001));
+        clienteServicio.eliminarClientePorId(new Cliente(ids.get(1), null, null, null));
+        List<Cliente> modificados = new ArrayList<>();
+        List<Integer> eliminados = new ArrayList<>();
+        // Versiones, cambios y bajas
+        long[] hasta = new long[1];
+        ContadorSentencias.Medicion medicion = ContadorSentencias.medir(() ->
+                hasta[0] = clienteServicio.exportarCambios(0, modificados::add, eliminados::add));
+        assertSentencias(medicion, 3);
+        assertThat(modificados).extracting(Cliente::getId).containsExactly(ids.get(0));
+        assertThat(eliminados).containsExactly(ids.get(1));
+        // Las versiones son mas recientes que el margen: no se avanza, se vuelven a enviar
+        assertThat(hasta[0]).isZero();
+        // Sin cambios despues de la ultima version solo se leen las versiones
+        long version = clienteServicio.versionActualClientes();
+        assertSentencias(ContadorSentencias.medir(() ->
+                clienteServicio.exportarCambios(version, modificados::add, eliminados::add)), 1);
+    }
+
+    @Test
+    void buscarClientes() {
+        assertSentencias(ContadorSentencias.medir(() -> clienteServicio.buscarClientes("Nombre", 10)), 1);
+        assertSentencias(ContadorSentencias.medir(() -> clienteServicio.buscarClientes("1001", 10)), 1);
+    }
+
+    @Test
+    void buscarClientePorId() {
+        assertSentencias(ContadorSentencias.medir(() -> clienteServicio.buscarClientePorId(ids.get(0))), 1);
+    }
+
+    @Test
+    void buscarIdClientePorMembresia() {
+        assertSentencias(ContadorSentencias.medir(() -> clienteServicio.buscarIdClientePorMembresia(1001)), 1);
+    }
+
+    @Test
+    void guardarClienteNuevo() {
+        // Version (INSERT con clave generada) e INSERT del cliente con la clave devuelta por el driver
+        assertSentencias(ContadorSentencias.medir(() ->
+                clienteServicio.guardarCliente(new Cliente("Nuevo", "N", 2000))), 2);
+    }
+
+    @Test
+    void guardarClienteExistente() {
+        // Version y UPDATE directo, sin leer antes el cliente ni hacer merge de la entidad
+        assertSentencias(ContadorSentencias.medir(() ->
+                clienteServicio.guardarCliente(new Cliente(ids.get(0), "Cambiado", "C", 2001))), 2);
+        // Sin filas actualizadas se borra la version asignada
+        Long ultimaVersion = jdbcTemplate.queryForObject("select max(version) from cliente_version", Long.class);
+        assertSentencias(ContadorSentencias.medir(() ->
+                clienteServicio.guardarCliente(new Cliente(-1, "Inexistente", "I", 2002))), 3);
+        // Con version y sin filas actualizadas se consulta si existe (inexistente o modificado por otro)
+        Cliente inexistente = new Cliente(-1, "Inexistente", "I", 2002);
+        inexistente.setVersion(1L);
+        boolean[] guardado = new boolean[1];
+        assertSentencias(ContadorSentencias.medir(() ->
+                guardado[0] = clienteServicio.guardarCliente(inexistente)), 4);
+        assertThat(guardado[0]).isFalse();
+        assertThat(jdbcTemplate.queryForObject("select max(version) from cliente_version", Long.class))
+                .isEqualTo(ultimaVersion);
+    }
+
+    @Test
+    void guardarClientes() {
+        List<Cliente> clientes = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            clientes.add(new Cliente("Importado" + i, "I", 3000 + i));
+        }
+        // Una version y un lote JDBC (executeBatch) por cada zonafit.importacion.tamano-lote clientes
+        assertSentencias(ContadorSentencias.medir(() -> clienteServicio.guardarClientes(clientes)), 2);
+    }
+
+    @Test
+    void eliminarClientePorId() {
+        Cliente cliente = new Cliente(ids.get(0), null, null, null);
+        // Datos de la baja, version, baja y DELETE directo
+        assertSentencias(ContadorSentencias.medir(() -> clienteServicio.eliminarClientePorId(cliente)), 4);
+    }
+
+    @Test
+    void eliminarClientesPorIds() {
+        // Una version, un lote de bajas y un solo DELETE ... IN sin importar cuantos ids
+        assertSentencias(ContadorSentencias.medir(() ->
+                clienteServicio.eliminarClientesPorIds(ids.subList(0, 10))), 4);
+    }
+
+    private static void assertSentencias(ContadorSentencias.Medicion medicion, int esperadas) {
+        assertThat(medicion.getSentencias()).as(medicion.toString()).isEqualTo(esperadas);
+    }
+}